@@ -0,0 +1,64 @@
+package com.poc.authlib.autoconfiguration.authority;
+
+import com.poc.authlib.benchmark.StubPermissionService;
+import com.poc.authlib.common.dto.RoleDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Authority construction with realistic role/permission fan-out: the former per-request stream pipeline
+ * versus {@link AuthorityRegistry}. Run with {@code -PjmhProfilers=gc} to compare bytes/op
+ * ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuthoritiesBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int roleCount;
+
+    @Param({"10", "40", "100"})
+    public int permissionsPerRole;
+
+    private List<RoleDTO> roles;
+    private AuthorityRegistry authorityRegistry;
+
+    @Setup
+    public void setUp() {
+        roles = StubPermissionService.user(roleCount, permissionsPerRole).getRoles();
+        authorityRegistry = new AuthorityRegistry();
+    }
+
+    @Benchmark
+    public Set<GrantedAuthority> streamPipeline() {
+        return roles.stream()
+                .flatMap(permissions -> permissions.getPermissions().stream().distinct())
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Benchmark
+    public Set<GrantedAuthority> authorityRegistry() {
+        return authorityRegistry.authoritiesOf(roles);
+    }
+}
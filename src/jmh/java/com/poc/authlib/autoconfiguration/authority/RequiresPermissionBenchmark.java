@@ -0,0 +1,96 @@
+package com.poc.authlib.autoconfiguration.authority;
+
+import com.poc.authlib.autoconfiguration.PrincipalAuthenticationToken;
+import com.poc.authlib.benchmark.StubPermissionService;
+import com.poc.authlib.common.annotation.RequiresPermission;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a secured method call: {@code @PreAuthorize("hasAuthority(...)")} evaluated through SpEL versus
+ * {@link RequiresPermission} checked against the principal's permission bitset.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RequiresPermissionBenchmark {
+
+    @Param({"5", "20"})
+    public int roleCount;
+
+    @Param({"40"})
+    public int permissionsPerRole;
+
+    private SecuredService preAuthorizeService;
+    private SecuredService requiresPermissionService;
+
+    public interface SecuredService {
+        @PreAuthorize("hasAuthority('Resource5.READ')")
+        int preAuthorize();
+
+        @RequiresPermission("Resource5.READ")
+        int requiresPermission();
+    }
+
+    static class SecuredServiceImpl implements SecuredService {
+        @Override
+        public int preAuthorize() {
+            return 1;
+        }
+
+        @Override
+        public int requiresPermission() {
+            return 1;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        var authorityRegistry = new AuthorityRegistry();
+        var user = StubPermissionService.user(roleCount, permissionsPerRole);
+        SecurityContextHolder.getContext().setAuthentication(
+                new PrincipalAuthenticationToken(user, authorityRegistry.authoritiesOf(user.getRoles())));
+
+        var preAuthorizeProxy = new ProxyFactory(new SecuredServiceImpl());
+        preAuthorizeProxy.addAdvisor(AuthorizationManagerBeforeMethodInterceptor.preAuthorize());
+        preAuthorizeService = (SecuredService) preAuthorizeProxy.getProxy();
+
+        var requiresPermissionProxy = new ProxyFactory(new SecuredServiceImpl());
+        requiresPermissionProxy.addAdvisor(new RequiresPermissionAdvisor(() -> authorityRegistry));
+        requiresPermissionService = (SecuredService) requiresPermissionProxy.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public int preAuthorize() {
+        return preAuthorizeService.preAuthorize();
+    }
+
+    @Benchmark
+    public int requiresPermission() {
+        return requiresPermissionService.requiresPermission();
+    }
+}
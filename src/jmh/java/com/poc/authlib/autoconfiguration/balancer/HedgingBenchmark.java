@@ -0,0 +1,83 @@
+package com.poc.authlib.autoconfiguration.balancer;
+
+import com.poc.authlib.autoconfiguration.AuthServiceClient;
+import com.poc.authlib.benchmark.BenchmarkFixtures;
+import com.poc.authlib.benchmark.StubPermissionService;
+import com.poc.authlib.properties.AuthServiceProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * User lookups balanced over three in-process stub replicas, one of them slow, without the principal
+ * cache. Sample time mode reports the latency percentiles, where hedging should cut the tail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HedgingBenchmark {
+
+    @Param({"LEAST_OUTSTANDING", "LATENCY_WEIGHTED"})
+    public AuthServiceProperties.LoadBalancing.Strategy strategy;
+
+    @Param({"false", "true"})
+    public boolean hedging;
+
+    @Param({"2"})
+    public int fastReplicaLatencyMillis;
+
+    @Param({"50"})
+    public int slowReplicaLatencyMillis;
+
+    private final List<StubPermissionService> replicas = new ArrayList<>();
+    private final AtomicInteger tokens = new AtomicInteger();
+    private AuthServiceClient authServiceClient;
+
+    @Setup
+    public void setUp() {
+        replicas.add(replica(fastReplicaLatencyMillis));
+        replicas.add(replica(fastReplicaLatencyMillis));
+        replicas.add(replica(slowReplicaLatencyMillis));
+        var properties = BenchmarkFixtures.properties(replicas.get(0).getBaseUrl(), false);
+        properties.setCoalesceRequests(false);
+        replicas.forEach(replica -> properties.getEndpoints().add(replica.getBaseUrl()));
+        properties.getLoadBalancing().setStrategy(strategy);
+        properties.getLoadBalancing().getHedging().setEnabled(hedging);
+        authServiceClient = BenchmarkFixtures.authServiceClient(properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        replicas.forEach(StubPermissionService::close);
+    }
+
+    @Benchmark
+    public Authentication userLookup() {
+        return authServiceClient.authorize(BenchmarkFixtures.AUTH_TOKEN + tokens.incrementAndGet()).block();
+    }
+
+    private static StubPermissionService replica(int latencyMillis) {
+        return new StubPermissionService(StubPermissionService.user(), Duration.ofMillis(latencyMillis));
+    }
+}
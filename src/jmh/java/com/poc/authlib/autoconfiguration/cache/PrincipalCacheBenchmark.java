@@ -0,0 +1,101 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.benchmark.BenchmarkFixtures;
+import com.poc.authlib.benchmark.StubPermissionService;
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+import com.poc.authlib.properties.AuthServiceProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of a cached principal per tier: the on-heap Caffeine cache, the off-heap slot table
+ * and the key-value tier against its in-memory stand-in; both second levels include decoding.
+ * Memory per entry is measured by {@link PrincipalCacheFootprintBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PrincipalCacheBenchmark {
+
+    @Param({"caffeine", "off-heap", "key-value"})
+    public String tier;
+
+    @Param({"100000"})
+    public int entries;
+
+    @Param({"5"})
+    public int roleCount;
+
+    @Param({"20"})
+    public int permissionsPerRole;
+
+    private String[] tokenHashes;
+    private PrincipalCache principalCache;
+    private SharedPrincipalCache sharedPrincipalCache;
+    private SecondLevelCache secondLevelCache;
+
+    @Setup
+    public void setUp() {
+        var properties = BenchmarkFixtures.properties("http://localhost", true);
+        properties.getCache().setMaxEntries(entries);
+        properties.getCache().setTtl(properties.getSharedCache().getTtl());
+        properties.getSharedCache().setMaxEntries(entries * 2L);
+        properties.getSharedCache().setSlotSize(2048);
+        secondLevelCache = secondLevelCache(tier, properties.getSharedCache());
+        principalCache = PrincipalCache.create(properties.getCache());
+        var authorityRegistry = new AuthorityRegistry();
+        sharedPrincipalCache = new SharedPrincipalCache(secondLevelCache, new PrincipalCodec(authorityRegistry),
+                properties.getSharedCache().getTtl());
+
+        var user = StubPermissionService.user(roleCount, permissionsPerRole);
+        var principal = new AuthorizedPrincipal(user, authorityRegistry.authoritiesOf(user.getRoles()),
+                System.currentTimeMillis());
+        tokenHashes = new String[entries];
+        for (var i = 0; i < entries; i++) {
+            tokenHashes[i] = TokenHasher.hash(BenchmarkFixtures.AUTH_TOKEN + i);
+            principalCache.put(tokenHashes[i], principal);
+            sharedPrincipalCache.put(tokenHashes[i], principal);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (secondLevelCache instanceof OffHeapSecondLevelCache offHeap) {
+            offHeap.close();
+        }
+    }
+
+    @Benchmark
+    public AuthorizedPrincipal lookup() {
+        var tokenHash = tokenHashes[ThreadLocalRandom.current().nextInt(entries)];
+        return "caffeine".equals(tier)
+                ? principalCache.get(tokenHash).orElseThrow()
+                : sharedPrincipalCache.get(tokenHash).block();
+    }
+
+    static SecondLevelCache secondLevelCache(String tier, AuthServiceProperties.SharedCache properties) {
+        return switch (tier) {
+            case "off-heap" -> new OffHeapSecondLevelCache(properties);
+            case "key-value" -> new KeyValueSecondLevelCache(new InMemoryKeyValueStore());
+            default -> SecondLevelCache.NONE;
+        };
+    }
+}
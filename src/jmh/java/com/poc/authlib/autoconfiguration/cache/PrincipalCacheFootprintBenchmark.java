@@ -0,0 +1,132 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.benchmark.BenchmarkFixtures;
+import com.poc.authlib.benchmark.StubPermissionService;
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory per cached principal: fills a fresh tier with distinct users and reports the retained heap
+ * and direct memory growth per entry. Heap figures are taken after explicit GCs, so treat them as estimates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, batchSize = 1)
+@Measurement(iterations = 3, batchSize = 1)
+public class PrincipalCacheFootprintBenchmark {
+
+    @Param({"caffeine", "off-heap", "key-value"})
+    public String tier;
+
+    @Param({"200000"})
+    public int entries;
+
+    @Param({"5"})
+    public int roleCount;
+
+    @Param({"20"})
+    public int permissionsPerRole;
+
+    private String[] tokenHashes;
+    private AuthorityRegistry authorityRegistry;
+    private Object filled;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FootprintCounters {
+        public long heapBytesPerEntry;
+        public long directBytesPerEntry;
+    }
+
+    @Setup
+    public void setUp() {
+        authorityRegistry = new AuthorityRegistry();
+        tokenHashes = new String[entries];
+        for (var i = 0; i < entries; i++) {
+            tokenHashes[i] = TokenHasher.hash(BenchmarkFixtures.AUTH_TOKEN + i);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void release() throws IOException {
+        if (filled instanceof OffHeapSecondLevelCache offHeap) {
+            offHeap.close();
+        }
+        filled = null;
+    }
+
+    @Benchmark
+    public Object fill(FootprintCounters counters) {
+        var properties = BenchmarkFixtures.properties("http://localhost", true);
+        properties.getCache().setMaxEntries(entries);
+        properties.getSharedCache().setMaxEntries(entries);
+        properties.getSharedCache().setSlotSize(2048);
+        var heapBefore = usedHeap();
+        var directBefore = usedDirect();
+
+        if ("caffeine".equals(tier)) {
+            var principalCache = PrincipalCache.create(properties.getCache());
+            for (var i = 0; i < entries; i++) {
+                principalCache.put(tokenHashes[i], principal(i));
+            }
+            filled = principalCache;
+        } else {
+            var secondLevelCache = PrincipalCacheBenchmark.secondLevelCache(tier, properties.getSharedCache());
+            var sharedPrincipalCache = new SharedPrincipalCache(secondLevelCache, new PrincipalCodec(authorityRegistry),
+                    properties.getSharedCache().getTtl());
+            for (var i = 0; i < entries; i++) {
+                sharedPrincipalCache.put(tokenHashes[i], principal(i));
+            }
+            filled = secondLevelCache;
+        }
+
+        counters.heapBytesPerEntry = (usedHeap() - heapBefore) / entries;
+        counters.directBytesPerEntry = (usedDirect() - directBefore) / entries;
+        return filled;
+    }
+
+    /**
+     * A distinct user per entry, as decoded from the permission service, so the on-heap tier retains it.
+     */
+    private AuthorizedPrincipal principal(int i) {
+        var user = StubPermissionService.user(roleCount, permissionsPerRole);
+        user.setUserId("user-" + i);
+        return new AuthorizedPrincipal(user, authorityRegistry.authoritiesOf(user.getRoles()),
+                System.currentTimeMillis());
+    }
+
+    private static long usedHeap() {
+        for (var i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
@@ -0,0 +1,102 @@
+package com.poc.authlib.autoconfiguration.execution;
+
+import com.poc.authlib.autoconfiguration.AuthServiceClient;
+import com.poc.authlib.benchmark.BenchmarkFixtures;
+import com.poc.authlib.benchmark.StubPermissionService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Load test of the blocking servlet authorization path against a slow stub permission service:
+ * a burst of concurrent requests on a Tomcat-sized platform thread pool versus virtual threads.
+ * Reports time per burst and the peak platform thread count. The virtual mode needs Java 21.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+public class RequestThreadingBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000"})
+    public int concurrentRequests;
+
+    @Param({"50"})
+    public int permissionServiceLatencyMillis;
+
+    private StubPermissionService permissionService;
+    private AuthServiceClient authServiceClient;
+    private ExecutorService requestExecutor;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThreadCounters {
+        public long peakPlatformThreads;
+    }
+
+    @Setup
+    public void setUp() {
+        permissionService = new StubPermissionService(StubPermissionService.user(),
+                Duration.ofMillis(permissionServiceLatencyMillis));
+        var properties = BenchmarkFixtures.properties(permissionService.getBaseUrl(), false);
+        properties.setCoalesceRequests(false);
+        properties.getHttp().getPool().setMaxConnections(concurrentRequests);
+        properties.getHttp().getPool().setPendingAcquireMaxCount(-1);
+        authServiceClient = BenchmarkFixtures.authServiceClient(properties);
+        requestExecutor = "virtual".equals(threads)
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakThreadCount() {
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        permissionService.close();
+    }
+
+    @Benchmark
+    public void concurrentAuthorizations(ThreadCounters counters) {
+        var requests = new ArrayList<CompletableFuture<?>>(concurrentRequests);
+        for (var i = 0; i < concurrentRequests; i++) {
+            var request = new MockHttpServletRequest("GET", "/api/requests");
+            request.addHeader(AUTHORIZATION, BenchmarkFixtures.AUTH_TOKEN + i);
+            requests.add(CompletableFuture.runAsync(() -> authServiceClient.authorize(request), requestExecutor));
+        }
+        CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+        counters.peakPlatformThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+    }
+}
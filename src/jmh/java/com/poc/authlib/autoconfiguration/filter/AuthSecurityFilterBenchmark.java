@@ -0,0 +1,68 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import com.poc.authlib.autoconfiguration.metrics.AuthMetrics;
+import com.poc.authlib.benchmark.BenchmarkFixtures;
+import com.poc.authlib.benchmark.StubPermissionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * End-to-end {@link AuthSecurityFilter} request against an in-process stub permission service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AuthSecurityFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private StubPermissionService permissionService;
+    private AuthSecurityFilter filter;
+
+    @Setup
+    public void setUp() {
+        permissionService = new StubPermissionService(StubPermissionService.user());
+        var properties = BenchmarkFixtures.properties(permissionService.getBaseUrl(), cacheEnabled);
+        var openUrlMatcher = new OpenUrlMatcher(List.of("/actuator/**", "/favicon.ico"), 1024);
+        filter = new AuthSecurityFilter(openUrlMatcher, BenchmarkFixtures.authServiceClient(properties),
+                AuthMetrics.NONE, RoutePolicyTable.NONE, new AuthEntryPoint(properties));
+    }
+
+    @TearDown
+    public void tearDown() {
+        permissionService.close();
+    }
+
+    @Benchmark
+    public int authorizedRequest() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/requests");
+        request.addHeader(AUTHORIZATION, BenchmarkFixtures.AUTH_TOKEN);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,84 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import com.poc.authlib.autoconfiguration.metrics.AuthMetrics;
+import com.poc.authlib.benchmark.StubPermissionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AuthSecurityFilter#shouldNotFilter} with the compiled {@link OpenUrlMatcher}
+ * compared to the former linear {@link AntPathMatcher} scan over the open URL list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OpenUrlMatcherBenchmark {
+
+    private static final String[] REQUEST_URIS = {
+            "/api/requests/42",
+            "/public/area40/index.html",
+            "/static/file41.html",
+            "/docs/guide/page42",
+            "/API/V43/HEALTH/liveness",
+            "/unknown/path/to/resource"
+    };
+
+    @Param({"10", "80", "500"})
+    public int openUrlCount;
+
+    @Param({"0", "1024"})
+    public int matchCacheSize;
+
+    private List<String> openUrls;
+    private AntPathMatcher antPathMatcher;
+    private AuthSecurityFilter filter;
+    private MockHttpServletRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        openUrls = StubPermissionService.openUrls(openUrlCount);
+        antPathMatcher = new AntPathMatcher();
+        antPathMatcher.setCaseSensitive(false);
+        filter = new AuthSecurityFilter(new OpenUrlMatcher(openUrls, matchCacheSize), null, AuthMetrics.NONE,
+                RoutePolicyTable.NONE, null);
+        requests = new MockHttpServletRequest[REQUEST_URIS.length];
+        for (var i = 0; i < REQUEST_URIS.length; i++) {
+            requests[i] = new MockHttpServletRequest("GET", REQUEST_URIS[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean linearAntPathScan() {
+        var request = nextRequest();
+        return openUrls.stream()
+                .anyMatch(u -> antPathMatcher.match(u, request.getRequestURI()));
+    }
+
+    @Benchmark
+    public boolean shouldNotFilter() {
+        return filter.shouldNotFilter(nextRequest());
+    }
+
+    private MockHttpServletRequest nextRequest() {
+        next = (next + 1) % requests.length;
+        return requests[next];
+    }
+}
@@ -0,0 +1,84 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import com.poc.authlib.autoconfiguration.metrics.AuthMetrics;
+import com.poc.authlib.benchmark.BenchmarkFixtures;
+import com.poc.authlib.benchmark.StubPermissionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Rejected requests per second through {@link AuthSecurityFilter}, as during a credential-stuffing burst:
+ * no header, a malformed token, a token the stub permission service rejects on every call, and one
+ * answered from the negative cache. Run on the previous commit for the before numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RejectedRequestBenchmark {
+
+    @Param({"missing", "malformed", "rejected", "negative_cache"})
+    public String rejection;
+
+    private StubPermissionService permissionService;
+    private AuthSecurityFilter filter;
+    private String authToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        permissionService = new StubPermissionService(null);
+        var properties = BenchmarkFixtures.properties(permissionService.getBaseUrl(), true);
+        if ("rejected".equals(rejection)) {
+            properties.getTokenValidation().setNegativeCacheTtl(Duration.ZERO);
+        }
+        var openUrlMatcher = new OpenUrlMatcher(List.of("/actuator/**"), 1024);
+        filter = new AuthSecurityFilter(openUrlMatcher, BenchmarkFixtures.authServiceClient(properties),
+                AuthMetrics.NONE, RoutePolicyTable.NONE, new AuthEntryPoint(properties));
+        authToken = switch (rejection) {
+            case "missing" -> null;
+            case "malformed" -> "Bearer eyJhbGciOiJIUzI1NiJ9.not-a-jwt.signature";
+            default -> BenchmarkFixtures.AUTH_TOKEN;
+        };
+        // the first rejection fills the negative cache
+        rejectedRequest();
+    }
+
+    @TearDown
+    public void tearDown() {
+        permissionService.close();
+    }
+
+    @Benchmark
+    public int rejectedRequest() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/requests");
+        if (authToken != null) {
+            request.addHeader(AUTHORIZATION, authToken);
+        }
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
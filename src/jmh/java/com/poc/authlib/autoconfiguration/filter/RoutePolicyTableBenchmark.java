@@ -0,0 +1,117 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import com.poc.authlib.autoconfiguration.PrincipalAuthenticationToken;
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.benchmark.StubPermissionService;
+import com.poc.authlib.properties.OpenUrlProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route policy lookup and check for a request, with a few hundred rules: the compiled table against
+ * a linear {@link AntPathMatcher} scan of the same rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RoutePolicyTableBenchmark {
+
+    private static final String[][] REQUESTS = {
+            {"GET", "/api/resource7/items/42"},
+            {"POST", "/api/resource150/items"},
+            {"DELETE", "/api/resource299/items/42/history"},
+            {"GET", "/api/unknown/path"},
+            {"PUT", "/reports/resource42/report.pdf"},
+    };
+
+    @Param({"300"})
+    public int ruleCount;
+
+    private List<OpenUrlProperties.RoutePolicy> rules;
+    private RoutePolicyTable routePolicyTable;
+    private AntPathMatcher antPathMatcher;
+    private Authentication authentication;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        rules = rules(ruleCount);
+        var authorityRegistry = new AuthorityRegistry();
+        routePolicyTable = new RoutePolicyTable(rules, authorityRegistry);
+        antPathMatcher = new AntPathMatcher();
+        antPathMatcher.setCaseSensitive(false);
+        var user = StubPermissionService.user();
+        authentication = new PrincipalAuthenticationToken(user, authorityRegistry.authoritiesOf(user.getRoles()));
+    }
+
+    @Benchmark
+    public boolean compiledTable() {
+        var request = nextRequest();
+        var policy = routePolicyTable.find(request[0], request[1]);
+        return policy == null || policy.isGranted(authentication);
+    }
+
+    @Benchmark
+    public boolean antPathMatcherScan() {
+        var request = nextRequest();
+        for (var rule : rules) {
+            if ((rule.getMethod() == null || rule.getMethod().matches(request[0]))
+                    && antPathMatcher.match(rule.getPath(), request[1])) {
+                return authentication.getAuthorities().stream()
+                        .map(authority -> authority.getAuthority())
+                        .toList()
+                        .containsAll(rule.getPermissions());
+            }
+        }
+        return true;
+    }
+
+    private String[] nextRequest() {
+        next = (next + 1) % REQUESTS.length;
+        return REQUESTS[next];
+    }
+
+    private static List<OpenUrlProperties.RoutePolicy> rules(int count) {
+        var methods = new HttpMethod[]{HttpMethod.GET, HttpMethod.POST, HttpMethod.DELETE, null};
+        var rules = new ArrayList<OpenUrlProperties.RoutePolicy>(count);
+        for (var i = 0; i < count; i++) {
+            var rule = new OpenUrlProperties.RoutePolicy();
+            rule.setMethod(methods[i % methods.length]);
+            rule.setPath(switch (i % 3) {
+                case 0 -> "/api/resource" + i + "/items/{id}";
+                case 1 -> "/api/resource" + i + "/items";
+                default -> "/api/resource" + i + "/**";
+            });
+            rule.setPermissions(List.of("Resource" + i + ".READ"));
+            rules.add(rule);
+        }
+        rules.add(ruleOf("/reports/*/*.pdf", "Resource42.READ"));
+        return rules;
+    }
+
+    private static OpenUrlProperties.RoutePolicy ruleOf(String path, String permission) {
+        var rule = new OpenUrlProperties.RoutePolicy();
+        rule.setPath(path);
+        rule.setPermissions(List.of(permission));
+        return rule;
+    }
+}
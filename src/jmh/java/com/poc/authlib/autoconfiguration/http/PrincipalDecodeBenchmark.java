@@ -0,0 +1,68 @@
+package com.poc.authlib.autoconfiguration.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCodec;
+import com.poc.authlib.benchmark.StubPermissionService;
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of a permission service response body: the Jackson JSON decoder used so far versus
+ * {@link PrincipalBinaryDecoder}. Run with {@code -PjmhProfilers=gc} to compare bytes/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PrincipalDecodeBenchmark {
+
+    private static final ResolvableType USER_TYPE = ResolvableType.forClass(AuthSystemUserDTO.class);
+
+    @Param({"1", "5", "20"})
+    public int roleCount;
+
+    @Param({"10", "100"})
+    public int permissionsPerRole;
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private final Jackson2JsonDecoder jsonDecoder = new Jackson2JsonDecoder();
+    private final PrincipalBinaryDecoder binaryDecoder = new PrincipalBinaryDecoder();
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        var user = StubPermissionService.user(roleCount, permissionsPerRole);
+        json = new ObjectMapper().writeValueAsBytes(user);
+        binary = PrincipalCodec.encode(user, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public Object json() {
+        return jsonDecoder.decode(bufferFactory.wrap(json), USER_TYPE, MediaType.APPLICATION_JSON, Map.of());
+    }
+
+    @Benchmark
+    public AuthSystemUserDTO binary() {
+        return binaryDecoder.decode(bufferFactory.wrap(binary), USER_TYPE, PrincipalBinaryDecoder.MEDIA_TYPE, Map.of());
+    }
+}
@@ -0,0 +1,61 @@
+package com.poc.authlib.benchmark;
+
+import com.poc.authlib.autoconfiguration.AuthServiceClient;
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.autoconfiguration.balancer.PermissionServiceBalancer;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCache;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCodec;
+import com.poc.authlib.autoconfiguration.cache.RefreshAhead;
+import com.poc.authlib.autoconfiguration.cache.SecondLevelCache;
+import com.poc.authlib.autoconfiguration.cache.SharedPrincipalCache;
+import com.poc.authlib.autoconfiguration.http.PermissionServiceHttpClients;
+import com.poc.authlib.autoconfiguration.jwt.TokenVerifier;
+import com.poc.authlib.autoconfiguration.metrics.AuthMetrics;
+import com.poc.authlib.autoconfiguration.resilience.PermissionServiceResilience;
+import com.poc.authlib.autoconfiguration.validation.TokenValidator;
+import com.poc.authlib.properties.AuthServiceProperties;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Wires library components the same way the auto-configuration does, without a Spring context.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String AUTH_TOKEN = "benchmark-token";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static AuthServiceProperties properties(String endpoint, boolean cacheEnabled) {
+        var properties = new AuthServiceProperties();
+        properties.setEndpoint(endpoint);
+        properties.setGetUserPath(StubPermissionService.USER_PATH);
+        properties.setTimeout(5000);
+        properties.setErrorMessage("{\"errorCode\": 401, \"errorMessage\": \"Please authenticate to use this resource!\"}");
+        properties.getCache().setEnabled(cacheEnabled);
+        return properties;
+    }
+
+    public static AuthServiceClient authServiceClient(AuthServiceProperties properties) {
+        return authServiceClient(properties, SecondLevelCache.NONE);
+    }
+
+    public static AuthServiceClient authServiceClient(AuthServiceProperties properties,
+                                                      SecondLevelCache secondLevelCache) {
+        var authorityRegistry = new AuthorityRegistry();
+        var connectionProvider = PermissionServiceHttpClients.connectionProvider(properties);
+        var webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(
+                        PermissionServiceHttpClients.httpClient(properties, connectionProvider)))
+                .codecs(PermissionServiceHttpClients::registerCodecs)
+                .baseUrl(properties.getEndpoint())
+                .build();
+        return new AuthServiceClient(properties, webClient, PrincipalCache.create(properties.getCache()),
+                TokenVerifier.NONE, AuthMetrics.NONE, new PermissionServiceResilience(properties.getResilience()),
+                PrincipalCache.create(properties.getResilience().getStalePrincipals()), authorityRegistry,
+                new RefreshAhead(properties.getCache()), new SharedPrincipalCache(secondLevelCache,
+                        new PrincipalCodec(authorityRegistry), properties.getSharedCache().getTtl()),
+                new TokenValidator(properties.getTokenValidation()), new PermissionServiceBalancer(properties));
+    }
+}
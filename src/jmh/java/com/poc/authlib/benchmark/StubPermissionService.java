@@ -0,0 +1,123 @@
+package com.poc.authlib.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCodec;
+import com.poc.authlib.autoconfiguration.http.PrincipalBinaryDecoder;
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import com.poc.authlib.common.dto.RoleDTO;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * In-process permission service answering the user path with a fixed user, for benchmarks only.
+ * Answers in the binary principal format when the request accepts it, JSON otherwise.
+ * Without a user every token is rejected with 401.
+ */
+public final class StubPermissionService implements Closeable {
+
+    public static final String USER_PATH = "/user";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public StubPermissionService(AuthSystemUserDTO user) {
+        this(user, Duration.ZERO);
+    }
+
+    /**
+     * @param latency delay before every response, simulating a slow permission service
+     */
+    public StubPermissionService(AuthSystemUserDTO user, Duration latency) {
+        try {
+            var jsonBody = user == null ? null : new ObjectMapper().writeValueAsBytes(user);
+            var binaryBody = user == null ? null : PrincipalCodec.encode(user, System.currentTimeMillis());
+            var binaryMediaType = PrincipalBinaryDecoder.MEDIA_TYPE.toString();
+            this.executor = latency.isZero()
+                    ? Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2)
+                    : Executors.newCachedThreadPool();
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+            server.createContext(USER_PATH, exchange -> {
+                sleep(latency);
+                if (user == null) {
+                    exchange.sendResponseHeaders(401, -1);
+                    exchange.close();
+                    return;
+                }
+                var accept = exchange.getRequestHeaders().getFirst("Accept");
+                var binary = accept != null && accept.contains(binaryMediaType);
+                var body = binary ? binaryBody : jsonBody;
+                exchange.getResponseHeaders().add("Content-Type", binary ? binaryMediaType : "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (var responseBody = exchange.getResponseBody()) {
+                    responseBody.write(body);
+                }
+            });
+            server.setExecutor(executor);
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void sleep(Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static AuthSystemUserDTO user(int roleCount, int permissionsPerRole) {
+        var roles = IntStream.range(0, roleCount)
+                .mapToObj(role -> RoleDTO.builder()
+                        .name("ROLE_" + role)
+                        .permissions(IntStream.range(0, permissionsPerRole)
+                                // neighbouring roles share half of their permissions
+                                .mapToObj(permission -> "Resource" + (role * permissionsPerRole / 2 + permission) + ".READ")
+                                .collect(Collectors.toList()))
+                        .build())
+                .collect(Collectors.toList());
+        return AuthSystemUserDTO.builder()
+                .userId("user012")
+                .roles(roles)
+                .build();
+    }
+
+    public static AuthSystemUserDTO user() {
+        return user(5, 40);
+    }
+
+    public static List<String> openUrls(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> switch (i % 4) {
+                    case 0 -> "/public/area" + i + "/**";
+                    case 1 -> "/static/file" + i + ".html";
+                    case 2 -> "/docs/*/page" + i;
+                    default -> "/api/v" + i + "/health/**";
+                })
+                .collect(Collectors.toList());
+    }
+}
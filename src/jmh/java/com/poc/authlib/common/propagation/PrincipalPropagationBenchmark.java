@@ -0,0 +1,77 @@
+package com.poc.authlib.common.propagation;
+
+import com.poc.authlib.autoconfiguration.PrincipalAuthenticationToken;
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.benchmark.StubPermissionService;
+import com.poc.authlib.common.supply.AuthorizedUserAuthSupplier;
+import com.poc.authlib.common.supply.AuthorizedUserSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of handing the resolved principal to another task, measured on the calling thread so only the
+ * wrapping and context switch is timed: this library's wrapper against Spring Security's delegating runnable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PrincipalPropagationBenchmark {
+
+    private final AuthorizedUserSupplier supplier = new AuthorizedUserAuthSupplier();
+    private Blackhole blackhole;
+    private Runnable task;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        this.task = () -> this.blackhole.consume(supplier.get());
+        var user = StubPermissionService.user();
+        SecurityContextHolder.getContext().setAuthentication(new PrincipalAuthenticationToken(user,
+                new AuthorityRegistry().authoritiesOf(user.getRoles())));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void principalPropagation() {
+        runOnWorker(PrincipalPropagation.wrap(task));
+    }
+
+    @Benchmark
+    public void delegatingSecurityContextRunnable() {
+        runOnWorker(new DelegatingSecurityContextRunnable(task));
+    }
+
+    /**
+     * Runs the task as a pooled worker thread would: with an empty security context.
+     */
+    private static void runOnWorker(Runnable wrapped) {
+        var requestContext = SecurityContextHolder.getContext();
+        SecurityContextHolder.clearContext();
+        try {
+            wrapped.run();
+        } finally {
+            SecurityContextHolder.setContext(requestContext);
+        }
+    }
+}
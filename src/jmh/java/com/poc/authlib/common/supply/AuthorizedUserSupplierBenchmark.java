@@ -0,0 +1,57 @@
+package com.poc.authlib.common.supply;
+
+import com.poc.authlib.benchmark.StubPermissionService;
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Principal lookup from the security context, as done by services on every secured call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuthorizedUserSupplierBenchmark {
+
+    private final AuthorizedUserSupplier securedSupplier = new AuthorizedUserAuthSupplier();
+    private final AuthorizedUserSupplier notSecuredSupplier = new AuthorizedUserSupplier() {
+    };
+
+    @Setup
+    public void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(StubPermissionService.user(), null, List.of()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public AuthSystemUserDTO securedGet() {
+        return securedSupplier.get();
+    }
+
+    @Benchmark
+    public AuthSystemUserDTO notSecuredGet() {
+        return notSecuredSupplier.get();
+    }
+}
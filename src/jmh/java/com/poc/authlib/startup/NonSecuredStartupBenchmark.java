@@ -0,0 +1,88 @@
+package com.poc.authlib.startup;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup of a servlet application with {@code app.enable.security=false}: the library's pass-through
+ * filter chain versus the former permit-all chain built through {@link HttpSecurity}.
+ * Reports startup time, bean definitions and the security filters applied to each request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(3)
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 10, batchSize = 1)
+public class NonSecuredStartupBenchmark {
+
+    @Param({"pass-through", "http-security"})
+    public String filterChain;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ContextCounters {
+        public long beanDefinitions;
+        public long securityFilters;
+    }
+
+    @Benchmark
+    public void startAndStop(ContextCounters counters) {
+        var sources = "http-security".equals(filterChain)
+                ? new Class<?>[]{BenchmarkApplication.class, PermitAllFilterChainConfig.class}
+                : new Class<?>[]{BenchmarkApplication.class};
+        try (var context = new SpringApplicationBuilder(sources)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .properties("app.enable.security=false", "server.port=0")
+                .run()) {
+            counters.beanDefinitions = context.getBeanDefinitionCount();
+            counters.securityFilters = context.getBean(FilterChainProxy.class).getFilterChains().stream()
+                    .mapToLong(chain -> chain.getFilters().size())
+                    .sum();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableAutoConfiguration
+    static class BenchmarkApplication {
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class PermitAllFilterChainConfig {
+
+        @Bean
+        SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+            http
+                    .sessionManagement()
+                    .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                    .and()
+                    .csrf().disable()
+                    .cors().disable()
+                    .formLogin().disable()
+                    .httpBasic().disable()
+                    .authorizeRequests().antMatchers("/**").permitAll();
+            return http.build();
+        }
+    }
+}
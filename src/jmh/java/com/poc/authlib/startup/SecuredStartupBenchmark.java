@@ -0,0 +1,119 @@
+package com.poc.authlib.startup;
+
+import com.poc.authlib.autoconfiguration.http.PermissionServiceWarmUp;
+import com.poc.authlib.benchmark.StubPermissionService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to a ready servlet application with security enabled and its first protected request, with the
+ * permission service resources left lazy versus warmed up in the background. Once the warm-up finished,
+ * reports whether it created the permission service HttpClient and how long the first request took.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(3)
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 10, batchSize = 1)
+public class SecuredStartupBenchmark {
+
+    private static final String PROTECTED_PATH = "/protected";
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(30);
+
+    @Param({"false", "true"})
+    public boolean warmUp;
+
+    private StubPermissionService permissionService;
+    private HttpClient httpClient;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ContextCounters {
+        public long beanDefinitions;
+        public long httpClientCreatedByWarmUp;
+        public long firstRequestMicros;
+    }
+
+    @Setup
+    public void setUp() {
+        permissionService = new StubPermissionService(StubPermissionService.user());
+        httpClient = HttpClient.newHttpClient();
+    }
+
+    @TearDown
+    public void tearDown() {
+        permissionService.close();
+    }
+
+    @Benchmark
+    public void startAndStop(ContextCounters counters) throws IOException, InterruptedException {
+        try (var context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .properties("server.port=0",
+                        "auth.service.endpoint=" + permissionService.getBaseUrl(),
+                        "auth.service.get-user-path=" + StubPermissionService.USER_PATH,
+                        "auth.service.timeout=5000",
+                        "auth.service.error-message={\"errorCode\": 401}",
+                        "auth.service.startup.warm-up=" + warmUp,
+                        "security.urls.open-urls=/actuator/**")
+                .run()) {
+            counters.beanDefinitions = context.getBeanDefinitionCount();
+            context.getBean(PermissionServiceWarmUp.class).warmedUp().block(WARM_UP_TIMEOUT);
+            counters.httpClientCreatedByWarmUp =
+                    context.getBeanFactory().containsSingleton("permissionServiceHttpClient") ? 1 : 0;
+            var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PROTECTED_PATH))
+                    .header("Authorization", "Bearer startup-token")
+                    .GET()
+                    .build();
+            var start = System.nanoTime();
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            counters.firstRequestMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("First protected request answered " + response.statusCode());
+            }
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableAutoConfiguration
+    static class BenchmarkApplication {
+
+        @RestController
+        static class ProtectedController {
+
+            @GetMapping(PROTECTED_PATH)
+            String get() {
+                return "ok";
+            }
+        }
+    }
+}
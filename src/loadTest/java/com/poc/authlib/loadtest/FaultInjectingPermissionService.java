@@ -0,0 +1,157 @@
+package com.poc.authlib.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCodec;
+import com.poc.authlib.autoconfiguration.http.PrincipalBinaryDecoder;
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import com.poc.authlib.common.dto.RoleDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Local permission service answering the user path with log-normally distributed latency and injected
+ * faults: random 500s, periodic bursts of 503s, connections closed without a response, and 401 for
+ * tokens starting with {@link #INVALID_TOKEN_PREFIX}.
+ */
+public final class FaultInjectingPermissionService implements Closeable {
+
+    public static final String USER_PATH = "/user";
+    public static final String INVALID_TOKEN_PREFIX = "Bearer invalid-";
+
+    // 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    private final LoadTestOptions options;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final byte[] jsonBody;
+    private final byte[] binaryBody;
+    private final double medianNanos;
+    private final double sigma;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder faults = new LongAdder();
+
+    public FaultInjectingPermissionService(LoadTestOptions options) {
+        this.options = options;
+        var user = user();
+        try {
+            this.jsonBody = new ObjectMapper().writeValueAsBytes(user);
+            this.binaryBody = PrincipalCodec.encode(user, System.currentTimeMillis());
+            this.medianNanos = options.getLatencyMedian().toNanos();
+            var p99Nanos = (double) options.getLatencyP99().toNanos();
+            this.sigma = medianNanos > 0 && p99Nanos > medianNanos ? Math.log(p99Nanos / medianNanos) / Z_99 : 0;
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+            server.createContext(USER_PATH, this::handle);
+            server.setExecutor(executor);
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getFaultCount() {
+        return faults.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        sleep();
+        var random = ThreadLocalRandom.current();
+        if (random.nextDouble() < options.getDropRate()) {
+            faults.increment();
+            //closing before the response headers drops the connection
+            exchange.close();
+            return;
+        }
+        if (inErrorBurst()) {
+            faults.increment();
+            respond(exchange, 503, null, null);
+            return;
+        }
+        if (random.nextDouble() < options.getErrorRate()) {
+            faults.increment();
+            respond(exchange, 500, null, null);
+            return;
+        }
+        var token = exchange.getRequestHeaders().getFirst("Authorization");
+        if (token == null || token.startsWith(INVALID_TOKEN_PREFIX)) {
+            respond(exchange, 401, null, null);
+            return;
+        }
+        var binaryMediaType = PrincipalBinaryDecoder.MEDIA_TYPE.toString();
+        var accept = exchange.getRequestHeaders().getFirst("Accept");
+        var binary = accept != null && accept.contains(binaryMediaType);
+        respond(exchange, 200, binary ? binaryMediaType : "application/json", binary ? binaryBody : jsonBody);
+    }
+
+    private boolean inErrorBurst() {
+        var every = options.getErrorBurstEvery().toNanos();
+        return every > 0 && (System.nanoTime() - startNanos) % every < options.getErrorBurstLength().toNanos();
+    }
+
+    private void sleep() {
+        if (medianNanos <= 0) {
+            return;
+        }
+        var latencyNanos = (long) (medianNanos * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        try {
+            Thread.sleep(latencyNanos / 1_000_000, (int) (latencyNanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, body == null ? -1 : body.length);
+        try (var responseBody = exchange.getResponseBody()) {
+            if (body != null) {
+                responseBody.write(body);
+            }
+        }
+    }
+
+    static AuthSystemUserDTO user() {
+        var roles = IntStream.range(0, 5)
+                .mapToObj(role -> RoleDTO.builder()
+                        .name("ROLE_" + role)
+                        .permissions(IntStream.range(0, 40)
+                                .mapToObj(permission -> "Resource" + (role * 20 + permission) + ".READ")
+                                .collect(Collectors.toList()))
+                        .build())
+                .collect(Collectors.toList());
+        return AuthSystemUserDTO.builder()
+                .userId("load-test-user")
+                .roles(List.copyOf(roles))
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package com.poc.authlib.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started on a fixed schedule whatever the response times, and
+ * latency is measured from the scheduled start, so a stalled server shows up in the percentiles instead
+ * of slowing the driver down (no coordinated omission). When all connections are busy the schedule waits for
+ * one, and the wait counts into the latency of every request started late.
+ */
+final class LoadDriver implements AutoCloseable {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final double REPORTS_SHARE = 0.1;
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Semaphore outstanding;
+
+    LoadDriver(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            var thread = new Thread(runnable, "load-driver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.outstanding = new Semaphore(options.getMaxConnections());
+    }
+
+    /**
+     * @param reportInterval interval reports are printed this often, null or 0 for none
+     */
+    Result run(Duration duration, Duration reportInterval) throws InterruptedException {
+        var result = new Result();
+        var intervalNanos = 1_000_000_000.0 / options.getRate();
+        var durationNanos = duration.toNanos();
+        var reportNanos = reportInterval == null ? 0 : reportInterval.toNanos();
+        var start = System.nanoTime();
+        var nextReport = start + reportNanos;
+        for (long i = 0; ; i++) {
+            var intended = start + (long) (i * intervalNanos);
+            if (intended - start >= durationNanos) {
+                break;
+            }
+            var wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(intended, result);
+            if (reportNanos > 0 && System.nanoTime() - nextReport >= 0) {
+                nextReport += reportNanos;
+                System.out.println("  " + result.interval(System.nanoTime() - start));
+            }
+        }
+        var drained = outstanding.tryAcquire(options.getMaxConnections(), DRAIN_TIMEOUT.toMillis(),
+                TimeUnit.MILLISECONDS);
+        if (drained) {
+            outstanding.release(options.getMaxConnections());
+        }
+        result.finish(System.nanoTime() - start);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void send(long intendedNanos, Result result) throws InterruptedException {
+        if (!outstanding.tryAcquire()) {
+            result.queued.increment();
+            outstanding.acquire();
+        }
+        var random = ThreadLocalRandom.current();
+        var token = random.nextDouble() < options.getInvalidTokenRate()
+                ? FaultInjectingPermissionService.INVALID_TOKEN_PREFIX + random.nextInt(options.getTokens())
+                : "Bearer load-test-token-" + random.nextInt(options.getTokens());
+        var path = random.nextDouble() < REPORTS_SHARE ? SampleApplication.REPORTS_PATH : SampleApplication.REQUESTS_PATH;
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    outstanding.release();
+                    result.record(System.nanoTime() - intendedNanos,
+                            error != null ? "error:" + error.getClass().getSimpleName()
+                                    : String.valueOf(response.statusCode()));
+                });
+    }
+
+    static final class Result {
+        private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toNanos(5), 3);
+        private final Histogram total = new Histogram(TimeUnit.MINUTES.toNanos(5), 3);
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        private final LongAdder queued = new LongAdder();
+        private Histogram interval;
+        private long elapsedNanos;
+
+        void record(long latencyNanos, String outcome) {
+            recorder.recordValue(Math.min(latencyNanos, total.getHighestTrackableValue()));
+            count(outcome);
+        }
+
+        private void count(String outcome) {
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+
+        String interval(long elapsedNanos) {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return String.format("%5ds %s", TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), percentiles(interval));
+        }
+
+        void finish(long elapsedNanos) {
+            this.elapsedNanos = elapsedNanos;
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+        }
+
+        String describe() {
+            var seconds = elapsedNanos / 1e9;
+            var counts = new TreeMap<String, Long>();
+            outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+            return String.format("throughput: %.1f req/s over %.1f s%nlatency: %s%noutcomes: %s%n"
+                            + "queued for a connection: %d (raise max-connections if the server was not saturated)",
+                    total.getTotalCount() / seconds, seconds, percentiles(total), counts, queued.sum());
+        }
+
+        private static String percentiles(Histogram histogram) {
+            return String.format("count %d, p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms",
+                    histogram.getTotalCount(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
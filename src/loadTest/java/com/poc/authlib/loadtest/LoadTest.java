@@ -0,0 +1,64 @@
+package com.poc.authlib.loadtest;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.util.ArrayList;
+
+/**
+ * Starts the fault-injecting permission service and the sample application in this JVM, warms up,
+ * then drives the application at a fixed rate and prints throughput, latency percentiles, response
+ * outcomes, thread counts and allocation rate. See {@link LoadTestOptions} for the knobs.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var options = LoadTestOptions.parse(args);
+        try (var permissionService = new FaultInjectingPermissionService(options);
+             var context = new SpringApplicationBuilder(SampleApplication.class)
+                     .web(WebApplicationType.SERVLET)
+                     .logStartupInfo(false)
+                     .properties(applicationProperties(options, permissionService).toArray(String[]::new))
+                     .run()) {
+            var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            try (var driver = new LoadDriver(options, "http://127.0.0.1:" + port)) {
+                System.out.printf("warm-up: %s at %d req/s%n", options.getWarmUp(), options.getRate());
+                driver.run(options.getWarmUp(), null);
+
+                RuntimeStats.resetPeakThreads();
+                var before = RuntimeStats.snapshot();
+                var permissionServiceRequests = permissionService.getRequestCount();
+                var permissionServiceFaults = permissionService.getFaultCount();
+                System.out.printf("measurement: %s at %d req/s%n", options.getDuration(), options.getRate());
+                var result = driver.run(options.getDuration(), options.getReportInterval());
+                var after = RuntimeStats.snapshot();
+
+                System.out.println(result.describe());
+                System.out.println(after.describeSince(before));
+                System.out.printf("permission service: %d requests, %d injected faults%n",
+                        permissionService.getRequestCount() - permissionServiceRequests,
+                        permissionService.getFaultCount() - permissionServiceFaults);
+            }
+        }
+    }
+
+    private static ArrayList<String> applicationProperties(LoadTestOptions options,
+                                                           FaultInjectingPermissionService permissionService) {
+        var properties = new ArrayList<String>();
+        properties.add("server.port=0");
+        properties.add("spring.main.banner-mode=off");
+        properties.add("logging.level.root=WARN");
+        properties.add("auth.service.endpoint=" + permissionService.getBaseUrl());
+        properties.add("auth.service.get-user-path=" + FaultInjectingPermissionService.USER_PATH);
+        properties.add("auth.service.timeout=5000");
+        properties.add("auth.service.error-message={\"errorCode\": 401}");
+        properties.add("security.urls.open-urls=/actuator/**");
+        //later entries win, so options override the defaults above
+        properties.addAll(options.getProperties());
+        return properties;
+    }
+}
@@ -0,0 +1,83 @@
+package com.poc.authlib.loadtest;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line options of {@link LoadTest}, given as {@code --name=value}; later values win.
+ */
+@Data
+public class LoadTestOptions {
+    /**
+     * Requests per second sent regardless of how fast they are answered (open model).
+     */
+    private int rate = 200;
+    private Duration duration = Duration.ofMinutes(1);
+    private Duration warmUp = Duration.ofSeconds(15);
+    /**
+     * Interval histograms are printed this often during the run, 0 for the final report only.
+     */
+    private Duration reportInterval = Duration.ofSeconds(10);
+    /**
+     * Distinct valid tokens, which with the principal cache settings drives the cache hit ratio.
+     */
+    private int tokens = 1000;
+    /**
+     * Share of requests carrying a token the permission service rejects with 401.
+     */
+    private double invalidTokenRate = 0.0;
+    private int maxConnections = 512;
+
+    private Duration latencyMedian = Duration.ofMillis(5);
+    private Duration latencyP99 = Duration.ofMillis(50);
+    /**
+     * Share of permission service calls answered with 500.
+     */
+    private double errorRate = 0.0;
+    /**
+     * Every this often the permission service answers only 503 for error-burst-length, 0 for no bursts.
+     */
+    private Duration errorBurstEvery = Duration.ZERO;
+    private Duration errorBurstLength = Duration.ofSeconds(2);
+    /**
+     * Share of permission service calls whose connection is closed without a response.
+     */
+    private double dropRate = 0.0;
+
+    /**
+     * Extra sample application properties, e.g. {@code --property=auth.service.cache.enabled=true}.
+     */
+    private List<String> properties = new ArrayList<>();
+
+    public static LoadTestOptions parse(String[] args) {
+        var options = new LoadTestOptions();
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            var value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "rate" -> options.setRate(Integer.parseInt(value));
+                case "duration" -> options.setDuration(Duration.parse(value));
+                case "warm-up" -> options.setWarmUp(Duration.parse(value));
+                case "report-interval" -> options.setReportInterval(Duration.parse(value));
+                case "tokens" -> options.setTokens(Integer.parseInt(value));
+                case "invalid-token-rate" -> options.setInvalidTokenRate(Double.parseDouble(value));
+                case "max-connections" -> options.setMaxConnections(Integer.parseInt(value));
+                case "latency-median" -> options.setLatencyMedian(Duration.parse(value));
+                case "latency-p99" -> options.setLatencyP99(Duration.parse(value));
+                case "error-rate" -> options.setErrorRate(Double.parseDouble(value));
+                case "error-burst-every" -> options.setErrorBurstEvery(Duration.parse(value));
+                case "error-burst-length" -> options.setErrorBurstLength(Duration.parse(value));
+                case "drop-rate" -> options.setDropRate(Double.parseDouble(value));
+                case "property" -> options.getProperties().add(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        return options;
+    }
+}
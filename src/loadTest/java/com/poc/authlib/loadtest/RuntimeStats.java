@@ -0,0 +1,58 @@
+package com.poc.authlib.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Thread and allocation counters of this JVM, which runs both the sample application and the driver.
+ * Allocated bytes are summed over live threads, so threads that ended in between are not counted.
+ */
+final class RuntimeStats {
+
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcTimeMillis;
+    private final long nanoTime;
+
+    private RuntimeStats() {
+        this.allocatedBytes = allocatedBytes();
+        var gcCount = 0L;
+        var gcTime = 0L;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+        this.gcCount = gcCount;
+        this.gcTimeMillis = gcTime;
+        this.nanoTime = System.nanoTime();
+    }
+
+    static RuntimeStats snapshot() {
+        return new RuntimeStats();
+    }
+
+    static void resetPeakThreads() {
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    String describeSince(RuntimeStats start) {
+        var threads = ManagementFactory.getThreadMXBean();
+        var seconds = (nanoTime - start.nanoTime) / 1e9;
+        var allocationRate = (allocatedBytes - start.allocatedBytes) / seconds / (1024 * 1024);
+        return String.format("threads: %d live, %d peak; allocation: %.1f MB/s; gc: %d collections, %d ms",
+                threads.getThreadCount(), threads.getPeakThreadCount(), allocationRate,
+                gcCount - start.gcCount, gcTimeMillis - start.gcTimeMillis);
+    }
+
+    private static long allocatedBytes() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return 0;
+        }
+        var total = 0L;
+        for (var allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,38 @@
+package com.poc.authlib.loadtest;
+
+import com.poc.authlib.common.annotation.RequiresPermission;
+import com.poc.authlib.common.supply.AuthorizedUserSupplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Minimal service secured by the library, as an application would use it.
+ */
+@SpringBootApplication
+public class SampleApplication {
+
+    public static final String REQUESTS_PATH = "/api/requests";
+    public static final String REPORTS_PATH = "/api/reports";
+
+    @RestController
+    @RequiredArgsConstructor
+    static class SampleController {
+
+        private final AuthorizedUserSupplier authorizedUserSupplier;
+
+        @GetMapping(REQUESTS_PATH)
+        Map<String, String> requests() {
+            return Map.of("userId", authorizedUserSupplier.get().getUserId());
+        }
+
+        @GetMapping(REPORTS_PATH)
+        @RequiresPermission("Resource1.READ")
+        Map<String, String> reports() {
+            return Map.of("userId", authorizedUserSupplier.get().getUserId());
+        }
+    }
+}
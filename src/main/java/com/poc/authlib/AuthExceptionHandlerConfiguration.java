@@ -1,15 +1,16 @@
 package com.poc.authlib;
 
-import com.poc.authlib.common.dto.GenericErrorResponse;
+import com.poc.authlib.autoconfiguration.filter.ErrorResponses;
 import com.poc.authlib.common.exception.ForbiddenException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -22,24 +23,24 @@ class AuthExceptionHandlerConfiguration {
     //@Conditional(SecuredCondition.class)
     class AuthExceptionHandler {
 
-        @ResponseStatus(HttpStatus.UNAUTHORIZED)
         @ExceptionHandler(AuthenticationException.class)
-        public GenericErrorResponse handleUnauthorisedAccessException(
+        public ResponseEntity<byte[]> handleUnauthorisedAccessException(
                 AuthenticationException exception) {
-            return buildEntityResponseAndLogError(exception);
+            return buildEntityResponseAndLogError(HttpStatus.UNAUTHORIZED, exception);
         }
 
-        @ResponseStatus(HttpStatus.FORBIDDEN)
         @ExceptionHandler(ForbiddenException.class)
-        public GenericErrorResponse handleForbiddenException(ForbiddenException exception) {
-            return buildEntityResponseAndLogError(exception);
+        public ResponseEntity<byte[]> handleForbiddenException(ForbiddenException exception) {
+            return buildEntityResponseAndLogError(HttpStatus.FORBIDDEN, exception);
         }
 
-        private GenericErrorResponse buildEntityResponseAndLogError(Exception exception) {
-            var errorResponse = GenericErrorResponse.builder()
-                    .errorMessage(exception.getMessage())
-                    .build();
-            return errorResponse;
+        /**
+         * Body is the pre-encoded {@link com.poc.authlib.common.dto.GenericErrorResponse} also written by the filter.
+         */
+        private ResponseEntity<byte[]> buildEntityResponseAndLogError(HttpStatus status, Exception exception) {
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ErrorResponses.body(status, exception.getMessage()));
         }
     }
 }
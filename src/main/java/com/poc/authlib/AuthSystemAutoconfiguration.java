@@ -1,130 +1,415 @@
 package com.poc.authlib;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poc.authlib.autoconfiguration.AuthReactiveAuthenticationManager;
 import com.poc.authlib.autoconfiguration.AuthServiceClient;
 import com.poc.authlib.autoconfiguration.CustomAuthProvider;
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.autoconfiguration.authority.RequiresPermissionAdvisor;
+import com.poc.authlib.autoconfiguration.balancer.PermissionServiceBalancer;
+import com.poc.authlib.autoconfiguration.cache.InMemoryKeyValueStore;
+import com.poc.authlib.autoconfiguration.cache.KeyValueSecondLevelCache;
+import com.poc.authlib.autoconfiguration.cache.KeyValueStore;
+import com.poc.authlib.autoconfiguration.cache.OffHeapSecondLevelCache;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCache;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCodec;
+import com.poc.authlib.autoconfiguration.cache.RefreshAhead;
+import com.poc.authlib.autoconfiguration.cache.SecondLevelCache;
+import com.poc.authlib.autoconfiguration.cache.SharedPrincipalCache;
+import com.poc.authlib.autoconfiguration.execution.VirtualThreads;
+import com.poc.authlib.autoconfiguration.invalidation.AuthCacheEndpoint;
+import com.poc.authlib.autoconfiguration.invalidation.InvalidationSource;
+import com.poc.authlib.autoconfiguration.invalidation.PrincipalInvalidator;
+import com.poc.authlib.autoconfiguration.invalidation.SseInvalidationSource;
+import com.poc.authlib.autoconfiguration.jwt.JwksKeySource;
+import com.poc.authlib.autoconfiguration.jwt.JwtTokenVerifier;
+import com.poc.authlib.autoconfiguration.jwt.TokenVerifier;
+import com.poc.authlib.autoconfiguration.metrics.AuthMetrics;
+import com.poc.authlib.autoconfiguration.metrics.AuthServiceMeterBinder;
+import com.poc.authlib.autoconfiguration.metrics.MicrometerAuthMetrics;
+import com.poc.authlib.autoconfiguration.resilience.PermissionServiceResilience;
+import com.poc.authlib.autoconfiguration.validation.TokenValidator;
 import com.poc.authlib.autoconfiguration.condition.NotSecuredCondition;
 import com.poc.authlib.autoconfiguration.condition.SecuredCondition;
 import com.poc.authlib.autoconfiguration.filter.AuthEntryPoint;
 import com.poc.authlib.autoconfiguration.filter.AuthSecurityFilter;
+import com.poc.authlib.autoconfiguration.filter.AuthTokenConverter;
+import com.poc.authlib.autoconfiguration.filter.OpenUrlMatcher;
+import com.poc.authlib.autoconfiguration.http.PermissionServiceHttpClients;
+import com.poc.authlib.autoconfiguration.http.PermissionServiceWarmUp;
+import com.poc.authlib.autoconfiguration.filter.ReactiveAccessDeniedHandler;
+import com.poc.authlib.autoconfiguration.filter.ReactiveAuthEntryPoint;
+import com.poc.authlib.autoconfiguration.filter.RoutePolicyAuthorizationManager;
+import com.poc.authlib.autoconfiguration.filter.RoutePolicyTable;
 import com.poc.authlib.common.supply.AuthorizedUserAuthSupplier;
+import com.poc.authlib.common.propagation.PrincipalTaskDecorator;
 import com.poc.authlib.common.supply.AuthorizedUserSupplier;
+import com.poc.authlib.common.supply.ReactiveAuthorizedUserAuthSupplier;
+import com.poc.authlib.common.supply.ReactiveAuthorizedUserSupplier;
+import com.poc.authlib.common.supply.StaticAuthorizedUserSupplier;
 import com.poc.authlib.properties.AuthServiceProperties;
+import com.poc.authlib.properties.MockUserProperties;
 import com.poc.authlib.properties.OpenUrlProperties;
 import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.util.AntPathMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.server.MatcherSecurityWebFilterChain;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.NegatedServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
-import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
 @Slf4j
-@Configuration
-@EnableWebSecurity
+@AutoConfiguration
 @AutoConfigureOrder(Ordered.HIGHEST_PRECEDENCE + 10)
 @ConditionalOnClass({WebClient.class, ObjectMapper.class, Logger.class})
 @ImportAutoConfiguration(AuthExceptionHandlerConfiguration.class)
-@RequiredArgsConstructor
 public class AuthSystemAutoconfiguration {
 
-	@Bean
-	@ConditionalOnMissingBean
+	@Configuration(proxyBeanMethods = false)
 	@Conditional(NotSecuredCondition.class)
-	AuthorizedUserSupplier authorizedUserSupplier() {
-		return new AuthorizedUserSupplier() {
-			//default implementation of AuthorizedUserSupplier interface
-		};
+	@EnableConfigurationProperties(MockUserProperties.class)
+	static class NonSecuredUserConfig {
+
+		@Bean
+		@ConditionalOnMissingBean
+		AuthorizedUserSupplier authorizedUserSupplier(MockUserProperties mockUserProperties) {
+			return new StaticAuthorizedUserSupplier(mockUserProperties);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		ReactiveAuthorizedUserSupplier reactiveAuthorizedUserSupplier(AuthorizedUserSupplier authorizedUserSupplier) {
+			return () -> Mono.fromSupplier(authorizedUserSupplier);
+		}
 	}
 
 
-	@Configuration
+	@Configuration(proxyBeanMethods = false)
 	@EnableConfigurationProperties({AuthServiceProperties.class, OpenUrlProperties.class})
 	@Conditional(SecuredCondition.class)
-	class AuthSystemSecurityConfig {
+	static class AuthSystemSecurityConfig {
 
 		@Bean
 		AuthorizedUserSupplier authorizedUserSupplier() {
 			return new AuthorizedUserAuthSupplier();
 		}
 
+		@Bean
+		ReactiveAuthorizedUserSupplier reactiveAuthorizedUserSupplier() {
+			return new ReactiveAuthorizedUserAuthSupplier();
+		}
+
 		@Bean
 		@Primary
+		@ConditionalOnWebApplication(type = Type.SERVLET)
 		AuthEntryPoint authEntryPoint(AuthServiceProperties authServiceProperties) {
 			return new AuthEntryPoint(authServiceProperties);
 		}
 
 		@Bean
 		@Primary
-		AuthSecurityFilter securityCheckFilter(OpenUrlProperties openUrlProperties,
-											   AuthServiceClient buildAuthServiceClient) {
-			var antPathMatcher = new AntPathMatcher();
-			antPathMatcher.setCaseSensitive(false);
-			return new AuthSecurityFilter(openUrlProperties, buildAuthServiceClient, antPathMatcher);
+		@ConditionalOnWebApplication(type = Type.SERVLET)
+		AuthSecurityFilter securityCheckFilter(OpenUrlMatcher openUrlMatcher,
+											   AuthServiceClient buildAuthServiceClient,
+											   ObjectProvider<AuthMetrics> authMetrics,
+											   RoutePolicyTable routePolicyTable,
+											   AuthEntryPoint authEntryPoint) {
+			return new AuthSecurityFilter(openUrlMatcher, buildAuthServiceClient,
+					authMetrics.getIfAvailable(() -> AuthMetrics.NONE), routePolicyTable, authEntryPoint);
+		}
+
+		@Bean
+		RoutePolicyTable routePolicyTable(OpenUrlProperties openUrlProperties, AuthorityRegistry authorityRegistry) {
+			return new RoutePolicyTable(openUrlProperties.getPolicies(), authorityRegistry);
+		}
+
+		@Bean
+		OpenUrlMatcher openUrlMatcher(OpenUrlProperties openUrlProperties) {
+			return new OpenUrlMatcher(openUrlProperties.getOpenUrls(), openUrlProperties.getMatchCacheSize());
 		}
 
 		@Bean
 		@Primary
+		@ConditionalOnWebApplication(type = Type.SERVLET)
 		CustomAuthProvider customAuthProvider() {
 			return new CustomAuthProvider();
 		}
 
+		@Bean
+		@ConditionalOnWebApplication(type = Type.REACTIVE)
+		ReactiveAuthEntryPoint reactiveAuthEntryPoint(AuthServiceProperties authServiceProperties) {
+			return new ReactiveAuthEntryPoint(authServiceProperties);
+		}
+
+		@Bean
+		@ConditionalOnWebApplication(type = Type.REACTIVE)
+		AuthReactiveAuthenticationManager authReactiveAuthenticationManager(AuthServiceClient buildAuthServiceClient) {
+			return new AuthReactiveAuthenticationManager(buildAuthServiceClient);
+		}
+
 		@Bean
 		@Primary
 		AuthServiceClient buildAuthSystemClient(AuthServiceProperties authServiceProperties,
-												WebClient permissionServiceWebClient) {
-			return new AuthServiceClient(authServiceProperties, permissionServiceWebClient);
+												@Lazy WebClient permissionServiceWebClient,
+												PrincipalCache principalCache,
+												TokenVerifier tokenVerifier,
+												ObjectProvider<AuthMetrics> authMetrics,
+												PermissionServiceResilience permissionServiceResilience,
+												AuthorityRegistry authorityRegistry,
+												SecondLevelCache secondLevelCache,
+												PermissionServiceBalancer permissionServiceBalancer) {
+			return new AuthServiceClient(authServiceProperties, permissionServiceWebClient, principalCache,
+					tokenVerifier, authMetrics.getIfAvailable(() -> AuthMetrics.NONE), permissionServiceResilience,
+					PrincipalCache.create(authServiceProperties.getResilience().getStalePrincipals()),
+					authorityRegistry, new RefreshAhead(authServiceProperties.getCache()),
+					new SharedPrincipalCache(secondLevelCache, new PrincipalCodec(authorityRegistry),
+							authServiceProperties.getSharedCache().getTtl()),
+					new TokenValidator(authServiceProperties.getTokenValidation()), permissionServiceBalancer);
 		}
 
 		@Bean
-		@Primary
-		WebClient permissionServiceWebClient(AuthServiceProperties authServiceProperties) {
-			var httpClient = new ReactorClientHttpConnector(HttpClient.create()
-					.responseTimeout(Duration.ofMillis(authServiceProperties.getTimeout())));
+		AuthorityRegistry authorityRegistry() {
+			return new AuthorityRegistry();
+		}
+
+		@Bean
+		PermissionServiceBalancer permissionServiceBalancer(AuthServiceProperties authServiceProperties) {
+			return new PermissionServiceBalancer(authServiceProperties);
+		}
+
+		@Bean
+		PermissionServiceResilience permissionServiceResilience(AuthServiceProperties authServiceProperties) {
+			return new PermissionServiceResilience(authServiceProperties.getResilience());
+		}
+
+		@Bean
+		@ConditionalOnProperty(name = "auth.service.jwt.enabled", havingValue = "true")
+		JwksKeySource jwksKeySource(AuthServiceProperties authServiceProperties,
+									@Lazy WebClient permissionServiceWebClient) {
+			return new JwksKeySource(authServiceProperties.getJwt(), permissionServiceWebClient);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		TokenVerifier tokenVerifier(AuthServiceProperties authServiceProperties,
+									ObjectProvider<JwksKeySource> jwksKeySource) {
+			return Optional.ofNullable(jwksKeySource.getIfAvailable())
+					.<TokenVerifier>map(keySource -> new JwtTokenVerifier(authServiceProperties.getJwt(), keySource))
+					.orElse(TokenVerifier.NONE);
+		}
+
+		@Bean
+		@ConditionalOnProperty(name = "auth.service.invalidation.path")
+		SseInvalidationSource sseInvalidationSource(AuthServiceProperties authServiceProperties,
+													@Lazy WebClient permissionServiceWebClient) {
+			return new SseInvalidationSource(authServiceProperties.getInvalidation(), permissionServiceWebClient);
+		}
+
+		@Bean
+		PrincipalInvalidator principalInvalidator(ObjectProvider<InvalidationSource> invalidationSources,
+												  AuthServiceClient buildAuthServiceClient) {
+			return new PrincipalInvalidator(invalidationSources.orderedStream().toList(), buildAuthServiceClient);
+		}
+
+		@Bean
+		PermissionServiceWarmUp permissionServiceWarmUp(AuthServiceProperties authServiceProperties,
+														ObjectProvider<HttpClient> permissionServiceHttpClient,
+														@Lazy WebClient permissionServiceWebClient,
+														ObjectProvider<JwksKeySource> jwksKeySource,
+														PrincipalInvalidator principalInvalidator) {
+			return new PermissionServiceWarmUp(authServiceProperties, permissionServiceHttpClient::getObject,
+					permissionServiceWebClient, jwksKeySource, principalInvalidator);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		PrincipalCache principalCache(AuthServiceProperties authServiceProperties) {
+			return PrincipalCache.create(authServiceProperties.getCache());
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		SecondLevelCache secondLevelCache(AuthServiceProperties authServiceProperties,
+										  ObjectProvider<KeyValueStore> keyValueStore) {
+			var sharedCache = authServiceProperties.getSharedCache();
+			return switch (sharedCache.getType()) {
+				case NONE -> SecondLevelCache.NONE;
+				case OFF_HEAP -> new OffHeapSecondLevelCache(sharedCache);
+				case KEY_VALUE -> new KeyValueSecondLevelCache(keyValueStore.getIfAvailable(InMemoryKeyValueStore::new));
+			};
+		}
+
+		//http resources are lazy, created by the first permission service call or the background warm-up
+		@Bean(destroyMethod = "dispose")
+		@Lazy
+		ConnectionProvider permissionServiceConnectionProvider(AuthServiceProperties authServiceProperties) {
+			return PermissionServiceHttpClients.connectionProvider(authServiceProperties);
+		}
 
-			return WebClient.builder()
-					.clientConnector(httpClient)
+		@Bean
+		@Lazy
+		HttpClient permissionServiceHttpClient(AuthServiceProperties authServiceProperties,
+											   ConnectionProvider permissionServiceConnectionProvider) {
+			return PermissionServiceHttpClients.httpClient(authServiceProperties, permissionServiceConnectionProvider);
+		}
+
+		@Bean
+		@Lazy
+		@Primary
+		WebClient permissionServiceWebClient(AuthServiceProperties authServiceProperties,
+											 HttpClient permissionServiceHttpClient,
+											 ObjectProvider<WebClient.Builder> webClientBuilder) {
+			//application builder carries the tracing and http client metrics customizers when present
+			return webClientBuilder.getIfAvailable(WebClient::builder)
+					.clientConnector(new ReactorClientHttpConnector(permissionServiceHttpClient))
+					.codecs(PermissionServiceHttpClients::registerCodecs)
 					.baseUrl(authServiceProperties.getEndpoint())
 					.build();
 		}
 
 	}
-	@Configuration
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+	@Conditional(SecuredCondition.class)
+	static class AuthMetricsConfig {
+
+		@Bean
+		@ConditionalOnMissingBean
+		AuthMetrics authMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+			return Optional.ofNullable(meterRegistry.getIfAvailable())
+					.<AuthMetrics>map(MicrometerAuthMetrics::new)
+					.orElse(AuthMetrics.NONE);
+		}
+
+		@Bean
+		AuthServiceMeterBinder authServiceMeterBinder(PrincipalCache principalCache,
+													  AuthServiceClient buildAuthServiceClient,
+													  PermissionServiceResilience permissionServiceResilience) {
+			return new AuthServiceMeterBinder(principalCache, buildAuthServiceClient, permissionServiceResilience);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@Conditional(SecuredCondition.class)
+	static class RequiresPermissionConfig {
+
+		//static and lazily resolved, advisors are created before regular beans
+		@Bean
+		@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+		static RequiresPermissionAdvisor requiresPermissionAdvisor(ObjectProvider<AuthorityRegistry> authorityRegistry) {
+			return new RequiresPermissionAdvisor(authorityRegistry::getObject);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+	@Conditional(SecuredCondition.class)
+	static class AuthCacheEndpointConfig {
+
+		@Bean
+		@ConditionalOnMissingBean
+		AuthCacheEndpoint authCacheEndpoint(PrincipalCache principalCache, AuthServiceClient buildAuthServiceClient) {
+			return new AuthCacheEndpoint(principalCache, buildAuthServiceClient);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+	@ConditionalOnProperty(name = "auth.service.virtual-threads", havingValue = "true")
+	@Conditional(SecuredCondition.class)
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	static class VirtualThreadsConfig {
+
+		@Bean
+		TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+			if (!VirtualThreads.isSupported()) {
+				log.warn("Virtual threads are not supported on Java {}, keeping platform request threads",
+						Runtime.version());
+				return protocolHandler -> {
+				};
+			}
+			return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(name = "auth.service.propagate-principal", havingValue = "true", matchIfMissing = true)
+	@Conditional(SecuredCondition.class)
+	static class PrincipalPropagationConfig {
+
+		//picked up by the application task executor behind @Async
+		@Bean
+		@ConditionalOnMissingBean(TaskDecorator.class)
+		TaskDecorator principalTaskDecorator() {
+			return new PrincipalTaskDecorator();
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
 	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@EnableWebSecurity
 	@EnableGlobalMethodSecurity(prePostEnabled = true)
 	@RequiredArgsConstructor
 	@Conditional(SecuredCondition.class)
-	class AuthSystemWebSecurityConfig {
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	static class AuthSystemWebSecurityConfig {
 		private final AuthEntryPoint authEntryPoint;
 		private final AuthSecurityFilter authSecurityFilter;
-		private final OpenUrlProperties openUrlProperties;
+		private final OpenUrlMatcher openUrlMatcher;
 		private final CustomAuthProvider authProvider;
 		@Bean
 		public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-			var whitelistedEndpoints = openUrlProperties.getOpenUrls().toArray(String[]::new);
+			RequestMatcher whitelistedEndpoints = openUrlMatcher::matches;
 			var httpSecurity = http.sessionManagement()
 					.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
 					.and()
@@ -136,7 +421,7 @@ public class AuthSystemAutoconfiguration {
 					.httpBasic().disable();
 
 			httpSecurity
-					.authorizeRequests().antMatchers(whitelistedEndpoints)
+					.authorizeRequests().requestMatchers(whitelistedEndpoints)
 					.permitAll()
 					.and()
 					.authorizeRequests().anyRequest()
@@ -158,22 +443,76 @@ public class AuthSystemAutoconfiguration {
 		}
 	}
 
-	@Configuration
-	@Conditional(NotSecuredCondition.class)
+	@Configuration(proxyBeanMethods = false)
+	@EnableWebFluxSecurity
+	@EnableReactiveMethodSecurity
 	@RequiredArgsConstructor
-	public class NonSecurityConfiguration {
+	@Conditional(SecuredCondition.class)
+	@ConditionalOnWebApplication(type = Type.REACTIVE)
+	static class AuthSystemWebFluxSecurityConfig {
+		private final ReactiveAuthEntryPoint authEntryPoint;
+		private final AuthReactiveAuthenticationManager authenticationManager;
+		private final OpenUrlMatcher openUrlMatcher;
+		private final RoutePolicyTable routePolicyTable;
+
 		@Bean
-		public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-			http
-					.sessionManagement()
-					.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+		public SecurityWebFilterChain reactiveFilterChain(ServerHttpSecurity http) {
+			ServerWebExchangeMatcher whitelistedEndpoints = exchange ->
+					openUrlMatcher.matches(exchange.getRequest().getPath().pathWithinApplication())
+							? MatchResult.match()
+							: MatchResult.notMatch();
+
+			var authenticationFilter = new AuthenticationWebFilter(authenticationManager);
+			authenticationFilter.setServerAuthenticationConverter(new AuthTokenConverter());
+			authenticationFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+			authenticationFilter.setAuthenticationFailureHandler(
+					new ServerAuthenticationEntryPointFailureHandler(authEntryPoint));
+			authenticationFilter.setRequiresAuthenticationMatcher(
+					new NegatedServerWebExchangeMatcher(whitelistedEndpoints));
+
+			return http
+					.securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+					.exceptionHandling().authenticationEntryPoint(authEntryPoint)
+					.accessDeniedHandler(new ReactiveAccessDeniedHandler())
 					.and()
 					.csrf().disable()
 					.cors().disable()
 					.formLogin().disable()
 					.httpBasic().disable()
-					.authorizeRequests().antMatchers("/**").permitAll();
-			return http.build();
+					.logout().disable()
+					.authorizeExchange().matchers(whitelistedEndpoints)
+					.permitAll()
+					.anyExchange()
+					.access(new RoutePolicyAuthorizationManager(routePolicyTable))
+					.and()
+					.addFilterAt(authenticationFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+					.build();
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableWebSecurity
+	@Conditional(NotSecuredCondition.class)
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	@RequiredArgsConstructor
+	public static class NonSecurityConfiguration {
+		//matches no request, so FilterChainProxy hands every request straight to the application
+		@Bean
+		@ConditionalOnMissingBean
+		public SecurityFilterChain filterChain() {
+			return new DefaultSecurityFilterChain(request -> false);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableWebFluxSecurity
+	@Conditional(NotSecuredCondition.class)
+	@ConditionalOnWebApplication(type = Type.REACTIVE)
+	public static class ReactiveNonSecurityConfiguration {
+		@Bean
+		@ConditionalOnMissingBean
+		public SecurityWebFilterChain reactiveFilterChain() {
+			return new MatcherSecurityWebFilterChain(exchange -> MatchResult.notMatch(), List.of());
 		}
 	}
 }
@@ -0,0 +1,21 @@
+package com.poc.authlib.autoconfiguration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class AuthReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final AuthServiceClient authServiceClient;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        return authServiceClient.authorize((String) authentication.getCredentials())
+                .onErrorMap(e -> !(e instanceof AuthenticationException),
+                        e -> new AuthenticationServiceException(e.getMessage(), e));
+    }
+}
@@ -1,23 +1,47 @@
 package com.poc.authlib.autoconfiguration;
 
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.autoconfiguration.balancer.PermissionServiceBalancer;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCache;
+import com.poc.authlib.autoconfiguration.cache.RefreshAhead;
+import com.poc.authlib.autoconfiguration.cache.SharedPrincipalCache;
+import com.poc.authlib.autoconfiguration.cache.TokenHasher;
+import com.poc.authlib.autoconfiguration.jwt.TokenVerifier;
+import com.poc.authlib.autoconfiguration.jwt.VerifiedToken;
+import com.poc.authlib.autoconfiguration.http.PrincipalBinaryDecoder;
+import com.poc.authlib.autoconfiguration.metrics.AuthMetrics;
+import com.poc.authlib.autoconfiguration.metrics.CallOutcome;
+import com.poc.authlib.autoconfiguration.metrics.RefreshOutcome;
+import com.poc.authlib.autoconfiguration.resilience.BulkheadFullException;
+import com.poc.authlib.autoconfiguration.resilience.CallNotPermittedException;
+import com.poc.authlib.autoconfiguration.resilience.PermissionServiceResilience;
+import com.poc.authlib.autoconfiguration.validation.RejectionReason;
+import com.poc.authlib.autoconfiguration.validation.TokenValidator;
 import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+import com.poc.authlib.common.dto.BulkUserRequestDTO;
 import com.poc.authlib.common.dto.RoleDTO;
 import com.poc.authlib.common.exception.AuthSystemException;
+import com.poc.authlib.common.exception.PermissionServiceUnavailableException;
 import com.poc.authlib.common.exception.UnauthorisedAccessException;
 import com.poc.authlib.properties.AuthServiceProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
@@ -32,55 +56,360 @@ public class AuthServiceClient {
 
     private final AuthServiceProperties authServiceProperties;
     private final WebClient securityServiceWebClient;
+    private final PrincipalCache principalCache;
+    private final TokenVerifier tokenVerifier;
+    private final AuthMetrics authMetrics;
+    private final PermissionServiceResilience resilience;
+    private final PrincipalCache stalePrincipalCache;
+    private final AuthorityRegistry authorityRegistry;
+    private final RefreshAhead refreshAhead;
+    private final SharedPrincipalCache sharedPrincipalCache;
+    private final TokenValidator tokenValidator;
+    private final PermissionServiceBalancer balancer;
+    private final RequestCoalescer<String, AuthSystemUserDTO> requestCoalescer = new RequestCoalescer<>();
+    private final LogRateLimiter rejectionLog = new LogRateLimiter(5, LOG_WINDOW);
+    private final LogRateLimiter failureLog = new LogRateLimiter(5, LOG_WINDOW);
+
+    private static final ParameterizedTypeReference<List<AuthSystemUserDTO>> USER_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final MediaType[] BINARY_OR_JSON = {PrincipalBinaryDecoder.MEDIA_TYPE, MediaType.APPLICATION_JSON};
+    private static final MediaType[] JSON = {MediaType.APPLICATION_JSON};
+    private static final Duration LOG_WINDOW = Duration.ofSeconds(1);
 
     public Authentication authorize(HttpServletRequest request) {
-        var authToken = getAuthToken(request);
-        var authSystemUserDto = callPermissionService(authToken);
-        log.debug("User found: {}", authSystemUserDto);
-        return buildAuth(authSystemUserDto);
+        return authorize(getAuthToken(request)).block();
+    }
+
+    /**
+     * Blocking authorization reporting rejections as a result, without throwing them through {@code block()}.
+     */
+    public AuthorizationResult tryAuthorize(HttpServletRequest request) {
+        var authToken = request.getHeader(AUTHORIZATION);
+        if (authToken == null) {
+            return AuthorizationResult.rejected(reject(RejectionReason.MISSING));
+        }
+        return authorize(authToken)
+                .map(AuthorizationResult::granted)
+                .onErrorResume(e -> Mono.just(AuthorizationResult.rejected(e)))
+                .block();
+    }
+
+    public Mono<Authentication> authorize(String authToken) {
+        return Mono.defer(() -> resolvePrincipal(TokenHasher.hash(authToken), authToken))
+                .doOnNext(principal -> log.debug("User found: {}", principal.getUser()))
+                .map(this::buildAuth);
+    }
+
+    /**
+     * Resolves many tokens with bounded concurrency, using the bulk endpoint when one is configured.
+     * Failures are reported per token and do not fail the returned stream.
+     */
+    public Flux<TokenResolution> resolveAll(Flux<String> authTokens) {
+        var batch = authServiceProperties.getBatch();
+        if (batch.getBulkPath() == null) {
+            return authTokens.flatMap(this::resolveOne, batch.getConcurrency());
+        }
+        return authTokens
+                .buffer(batch.getBulkSize())
+                .flatMap(this::resolveBulk, batch.getBulkConcurrency());
+    }
+
+    public Mono<Map<String, TokenResolution>> resolveAll(Collection<String> authTokens) {
+        return resolveAll(Flux.fromIterable(authTokens))
+                .collectMap(TokenResolution::getTokenHash);
+    }
+
+    public void invalidateToken(String tokenHash) {
+        principalCache.invalidate(tokenHash);
+        stalePrincipalCache.invalidate(tokenHash);
+        sharedPrincipalCache.invalidate(tokenHash);
+    }
+
+    public void invalidateUser(String userId) {
+        principalCache.invalidateUser(userId);
+        stalePrincipalCache.invalidateUser(userId);
+        sharedPrincipalCache.invalidateUser(userId);
+    }
+
+    public void invalidateAll() {
+        principalCache.invalidateAll();
+        stalePrincipalCache.invalidateAll();
+        sharedPrincipalCache.invalidateAll();
+    }
+
+    public RequestCoalescer<String, AuthSystemUserDTO> getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    public RefreshAhead getRefreshAhead() {
+        return refreshAhead;
+    }
+
+    public PermissionServiceBalancer getBalancer() {
+        return balancer;
     }
 
     private String getAuthToken(HttpServletRequest request) {
         return Optional.of(request)
                 .map(req -> req.getHeader(AUTHORIZATION))
-                .orElseThrow(() -> new UnauthorisedAccessException("No security token is present in request"));
+                .orElseThrow(() -> reject(RejectionReason.MISSING));
+    }
+
+    private UnauthorisedAccessException reject(RejectionReason reason) {
+        authMetrics.recordRejection(reason);
+        return new UnauthorisedAccessException(reason.getMessage());
+    }
+
+    private Mono<TokenResolution> resolveOne(String authToken) {
+        var tokenHash = TokenHasher.hash(authToken);
+        return Mono.defer(() -> resolvePrincipal(tokenHash, authToken))
+                .map(principal -> TokenResolution.resolved(tokenHash, principal))
+                .onErrorResume(e -> Mono.just(TokenResolution.failed(tokenHash, e)));
+    }
+
+    private Flux<TokenResolution> resolveBulk(List<String> authTokens) {
+        var resolutions = new ArrayList<TokenResolution>(authTokens.size());
+        var pendingHashes = new ArrayList<String>();
+        var pendingTokens = new ArrayList<String>();
+        for (var authToken : authTokens) {
+            var tokenHash = TokenHasher.hash(authToken);
+            try {
+                resolveLocally(tokenHash, authToken).ifPresentOrElse(
+                        principal -> resolutions.add(TokenResolution.resolved(tokenHash, principal)),
+                        () -> {
+                            pendingHashes.add(tokenHash);
+                            pendingTokens.add(authToken);
+                        });
+            } catch (RuntimeException e) {
+                resolutions.add(TokenResolution.failed(tokenHash, e));
+            }
+        }
+        if (pendingTokens.isEmpty()) {
+            return Flux.fromIterable(resolutions);
+        }
+        return Flux.fromIterable(resolutions)
+                .concatWith(callBulkPermissionService(pendingHashes, pendingTokens));
+    }
+
+    private Flux<TokenResolution> callBulkPermissionService(List<String> tokenHashes, List<String> authTokens) {
+        //like the balancer, never send the whole batch twice: transport errors fail the batch instead of retrying
+        return resilience.protectOnce(() -> timed(doBulkCall(authTokens)))
+                .onErrorMap(this::toAuthException)
+                .flatMapIterable(users -> {
+                    if (users.size() != tokenHashes.size()) {
+                        throw new AuthSystemException("Unexpected permission service response: " + users.size()
+                                + " users for " + tokenHashes.size() + " tokens");
+                    }
+                    var resolutions = new ArrayList<TokenResolution>(tokenHashes.size());
+                    for (var i = 0; i < tokenHashes.size(); i++) {
+                        var user = users.get(i);
+                        if (user == null) {
+                            rejected(tokenHashes.get(i));
+                        }
+                        resolutions.add(user == null
+                                ? TokenResolution.failed(tokenHashes.get(i), new UnauthorisedAccessException(
+                                        "Authorisation error from permission service: token rejected"))
+                                : TokenResolution.resolved(tokenHashes.get(i), remember(tokenHashes.get(i), user)));
+                    }
+                    return resolutions;
+                })
+                .onErrorResume(e -> Flux.fromIterable(tokenHashes)
+                        .map(tokenHash -> TokenResolution.failed(tokenHash, e)));
+    }
+
+    private Mono<AuthorizedPrincipal> resolvePrincipal(String tokenHash, String authToken) {
+        return resolveLocally(tokenHash, authToken)
+                .map(Mono::just)
+                .orElseGet(() -> sharedPrincipalCache.get(tokenHash)
+                        .doOnNext(principal -> principalCache.put(tokenHash, principal,
+                                sharedPrincipalCache.expiresAt(principal)))
+                        .switchIfEmpty(Mono.defer(() -> lookupRemoteUser(tokenHash, authToken)
+                                .map(authSystemUserDto -> remember(tokenHash, authSystemUserDto))
+                                .doOnError(UnauthorisedAccessException.class, e -> rejected(tokenHash))))
+                        .onErrorResume(PermissionServiceUnavailableException.class, e -> serveStale(tokenHash, e)));
     }
 
-    private AuthSystemUserDTO callPermissionService(String authToken) {
+    /**
+     * Cached or locally verified principal; malformed and recently rejected tokens fail here with
+     * {@link UnauthorisedAccessException} and never reach the permission service.
+     */
+    private Optional<AuthorizedPrincipal> resolveLocally(String tokenHash, String authToken) {
+        tokenValidator.checkShape(authToken).ifPresent(reason -> {
+            throw reject(reason);
+        });
+        return principalCache.get(tokenHash)
+                .map(principal -> principal.isLocallyVerified()
+                        ? reverifyIfDue(tokenHash, authToken, principal)
+                        : refreshIfDue(tokenHash, authToken, principal))
+                .or(() -> {
+                    tokenValidator.checkRejected(tokenHash)
+                            .or(() -> tokenValidator.checkExpiry(authToken))
+                            .ifPresent(reason -> {
+                                throw reject(reason);
+                            });
+                    return verifyLocally(authToken)
+                            .map(verifiedToken -> rememberVerified(tokenHash, verifiedToken));
+                });
+    }
+
+    private Optional<VerifiedToken> verifyLocally(String authToken) {
         try {
-            var authSystemUserDto = doCall(authToken);
-            Objects.requireNonNull(authSystemUserDto, "Unexpected permission service response");
-            return authSystemUserDto;
-        } catch (BadRequest | Unauthorized | Forbidden e) {
-            var details = e.getMessage();
-            log.warn("Authorisation error in permission service response, message: {}", details, e);
-            throw new UnauthorisedAccessException("Authorisation error from permission service: " + details);
-        } catch (Exception e) {
-            var details = e.getMessage();
-            log.error("Error in permission service response, message: {}", details, e);
-            throw new AuthSystemException("Cannot get response from permission service: " + details);
+            return tokenVerifier.verify(authToken);
+        } catch (UnauthorisedAccessException e) {
+            var suppressed = rejectionLog.tryAcquire();
+            if (suppressed >= 0) {
+                log.warn("Token rejected by local verification, message: {}, similar messages suppressed: {}",
+                        e.getMessage(), suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private void rejected(String tokenHash) {
+        tokenValidator.rejected(tokenHash);
+        authMetrics.recordRejection(RejectionReason.PERMISSION_SERVICE);
+    }
+
+    private AuthorizedPrincipal refreshIfDue(String tokenHash, String authToken, AuthorizedPrincipal principal) {
+        refreshAhead.refreshIfDue(tokenHash, principal, () -> lookupRemoteUser(tokenHash, authToken)
+                .doOnNext(authSystemUserDto -> {
+                    remember(tokenHash, authSystemUserDto);
+                    authMetrics.recordCacheRefresh(RefreshOutcome.SUCCESS);
+                })
+                .doOnError(e -> onRefreshError(tokenHash, e)));
+        return principal;
+    }
+
+    /**
+     * The permission service may not know tokens that are verified locally, so these are verified again
+     * instead of refreshed; an expired or no longer valid token fails here.
+     */
+    private AuthorizedPrincipal reverifyIfDue(String tokenHash, String authToken, AuthorizedPrincipal principal) {
+        if (!refreshAhead.isDue(principal)) {
+            return principal;
+        }
+        return verifyLocally(authToken)
+                .map(verifiedToken -> rememberVerified(tokenHash, verifiedToken))
+                .orElse(principal);
+    }
+
+    private void onRefreshError(String tokenHash, Throwable e) {
+        if (e instanceof UnauthorisedAccessException) {
+            invalidateToken(tokenHash);
+            rejected(tokenHash);
+            authMetrics.recordCacheRefresh(RefreshOutcome.EVICTED);
+            return;
+        }
+        authMetrics.recordCacheRefresh(RefreshOutcome.FAILURE);
+    }
+
+    private AuthorizedPrincipal remember(String tokenHash, AuthSystemUserDTO authSystemUserDto) {
+        var user = authSystemUserDto.frozen();
+        var principal = new AuthorizedPrincipal(user, toAuthorities(user.getRoles()), System.currentTimeMillis());
+        principalCache.put(tokenHash, principal);
+        stalePrincipalCache.put(tokenHash, principal);
+        sharedPrincipalCache.put(tokenHash, principal);
+        return principal;
+    }
+
+    /**
+     * Locally verified tokens stay in the local cache only and never past their expiry: any instance can verify
+     * them again, so neither the shared nor the stale cache would save a permission service call.
+     */
+    private AuthorizedPrincipal rememberVerified(String tokenHash, VerifiedToken verifiedToken) {
+        var user = verifiedToken.getUser();
+        var principal = new AuthorizedPrincipal(user, toAuthorities(user.getRoles()), System.currentTimeMillis(),
+                verifiedToken.getExpiresAt());
+        principalCache.put(tokenHash, principal, verifiedToken.getExpiresAt());
+        return principal;
+    }
+
+    private Mono<AuthorizedPrincipal> serveStale(String tokenHash, PermissionServiceUnavailableException e) {
+        return stalePrincipalCache.get(tokenHash)
+                .map(principal -> {
+                    log.debug("Serving last known principal while permission service is unavailable");
+                    return Mono.just(principal);
+                })
+                .orElseGet(() -> Mono.error(e));
+    }
+
+    private Mono<AuthSystemUserDTO> lookupRemoteUser(String tokenHash, String authToken) {
+        if (!authServiceProperties.isCoalesceRequests()) {
+            return callPermissionService(authToken);
+        }
+        return requestCoalescer.execute(tokenHash, () -> callPermissionService(authToken));
+    }
+
+    private Mono<AuthSystemUserDTO> callPermissionService(String authToken) {
+        return resilience.protect(() -> timed(doCall(authToken)))
+                .onErrorMap(this::toAuthException);
+    }
+
+    private <T> Mono<T> timed(Mono<T> call) {
+        return Mono.defer(() -> {
+            var start = System.nanoTime();
+            return call
+                    .switchIfEmpty(Mono.error(() -> new NullPointerException("Unexpected permission service response")))
+                    .doOnSuccess(result -> authMetrics.recordPermissionServiceCall(System.nanoTime() - start,
+                            CallOutcome.SUCCESS))
+                    .doOnError(e -> authMetrics.recordPermissionServiceCall(System.nanoTime() - start,
+                            CallOutcome.of(e)));
+        });
+    }
+
+    private RuntimeException toAuthException(Throwable e) {
+        var details = e.getMessage();
+        if (e instanceof CallNotPermittedException) {
+            log.debug("Permission service call not permitted, message: {}", details);
+            return new PermissionServiceUnavailableException("Cannot get response from permission service: " + details);
+        }
+        if (e instanceof BulkheadFullException) {
+            var suppressed = failureLog.tryAcquire();
+            if (suppressed >= 0) {
+                log.warn("Permission service call rejected, message: {}, similar messages suppressed: {}",
+                        details, suppressed);
+            }
+            return new AuthSystemException("Cannot get response from permission service: " + details);
+        }
+        if (e instanceof BadRequest || e instanceof Unauthorized || e instanceof Forbidden) {
+            var suppressed = rejectionLog.tryAcquire();
+            if (suppressed >= 0) {
+                log.warn("Authorisation error in permission service response, message: {}, "
+                        + "similar messages suppressed: {}", details, suppressed);
+            }
+            return new UnauthorisedAccessException("Authorisation error from permission service: " + details);
         }
+        var suppressed = failureLog.tryAcquire();
+        if (suppressed >= 0) {
+            log.error("Error in permission service response, message: {}, similar messages suppressed: {}",
+                    details, suppressed, e);
+        }
+        return new AuthSystemException("Cannot get response from permission service: " + details);
     }
 
-    private AuthSystemUserDTO doCall(String authToken) {
-        return securityServiceWebClient.get()
-                .uri(authServiceProperties.getGetUserPath())
+    private Mono<AuthSystemUserDTO> doCall(String authToken) {
+        return balancer.execute(baseUrl -> securityServiceWebClient.get()
+                .uri(baseUrl + authServiceProperties.getGetUserPath())
                 .header(AUTHORIZATION, authToken)
+                .accept(authServiceProperties.getHttp().isBinaryFormat() ? BINARY_OR_JSON : JSON)
                 .retrieve()
-                .bodyToMono(AuthSystemUserDTO.class)
-                .block();
+                .bodyToMono(AuthSystemUserDTO.class));
     }
 
-    private Authentication buildAuth(AuthSystemUserDTO currentUser) {
-        return new UsernamePasswordAuthenticationToken(currentUser, null,
-                toAuthorities(currentUser.getRoles()));
+    private Mono<List<AuthSystemUserDTO>> doBulkCall(List<String> authTokens) {
+        return balancer.executeOnce(baseUrl -> securityServiceWebClient.post()
+                .uri(baseUrl + authServiceProperties.getBatch().getBulkPath())
+                .bodyValue(new BulkUserRequestDTO(authTokens))
+                .retrieve()
+                .bodyToMono(USER_LIST));
+    }
+
+    private Authentication buildAuth(AuthorizedPrincipal principal) {
+        return new PrincipalAuthenticationToken(principal.getUser(), principal.getAuthorities());
     }
 
     private Set<GrantedAuthority> toAuthorities(List<RoleDTO> roles) {
-        return roles.stream()
-                .flatMap(permissions -> permissions.getPermissions().stream().distinct())
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toUnmodifiableSet());
+        return authorityRegistry.authoritiesOf(roles);
     }
 }
-
@@ -0,0 +1,25 @@
+package com.poc.authlib.autoconfiguration;
+
+import lombok.Value;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Outcome of a blocking authorization, so rejected requests are answered without throwing.
+ */
+@Value
+public class AuthorizationResult {
+    Authentication authentication;
+    Throwable rejection;
+
+    public static AuthorizationResult granted(Authentication authentication) {
+        return new AuthorizationResult(authentication, null);
+    }
+
+    public static AuthorizationResult rejected(Throwable rejection) {
+        return new AuthorizationResult(null, rejection);
+    }
+
+    public boolean isGranted() {
+        return authentication != null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.poc.authlib.autoconfiguration;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most {@code permits} log statements through per window and counts the dropped ones,
+ * so a burst of identical failures does not become a log storm.
+ */
+public final class LogRateLimiter {
+
+    private final int permits;
+    private final long windowNanos;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger issued = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogRateLimiter(int permits, Duration window) {
+        this.permits = permits;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * @return number of statements dropped since the last permitted one, or -1 if this one should be dropped
+     */
+    public long tryAcquire() {
+        var now = System.nanoTime();
+        var start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            issued.set(0);
+        }
+        if (issued.incrementAndGet() > permits) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+        return suppressed.getAndSet(0);
+    }
+}
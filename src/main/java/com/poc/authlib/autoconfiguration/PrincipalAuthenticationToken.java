@@ -0,0 +1,25 @@
+package com.poc.authlib.autoconfiguration;
+
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+
+/**
+ * Authenticated token that keeps the resolved authority set itself; {@link #getAuthorities()} is a copy,
+ * so permission checks use {@link #getAuthoritySet()} to reach the shared bitset form.
+ */
+public class PrincipalAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final transient Set<GrantedAuthority> authoritySet;
+
+    public PrincipalAuthenticationToken(AuthSystemUserDTO user, Set<GrantedAuthority> authoritySet) {
+        super(user, null, authoritySet);
+        this.authoritySet = authoritySet;
+    }
+
+    public Set<GrantedAuthority> getAuthoritySet() {
+        return authoritySet;
+    }
+}
@@ -0,0 +1,57 @@
+package com.poc.authlib.autoconfiguration;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution: concurrent callers for the same key share one outstanding call
+ * and all receive its result or its error. The key is released as soon as the call terminates.
+ */
+public final class RequestCoalescer<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            var created = new AtomicReference<Mono<V>>();
+            var shared = inFlight.computeIfAbsent(key, k -> {
+                created.set(share(k, call));
+                return created.get();
+            });
+            if (shared == created.get()) {
+                executedCount.increment();
+            } else {
+                coalescedCount.increment();
+            }
+            return shared;
+        });
+    }
+
+    public long getExecutedCount() {
+        return executedCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private Mono<V> share(K key, Supplier<Mono<V>> call) {
+        var self = new AtomicReference<Mono<V>>();
+        var shared = Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+}
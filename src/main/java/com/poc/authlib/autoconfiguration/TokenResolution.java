@@ -0,0 +1,26 @@
+package com.poc.authlib.autoconfiguration;
+
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+import lombok.Value;
+
+/**
+ * Outcome of resolving one token in a batch, keyed by the token hash so raw tokens are not retained.
+ */
+@Value
+public class TokenResolution {
+    String tokenHash;
+    AuthorizedPrincipal principal;
+    Throwable error;
+
+    public static TokenResolution resolved(String tokenHash, AuthorizedPrincipal principal) {
+        return new TokenResolution(tokenHash, principal, null);
+    }
+
+    public static TokenResolution failed(String tokenHash, Throwable error) {
+        return new TokenResolution(tokenHash, null, error);
+    }
+
+    public boolean isResolved() {
+        return principal != null;
+    }
+}
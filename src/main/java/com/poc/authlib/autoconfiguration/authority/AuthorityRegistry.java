@@ -0,0 +1,117 @@
+package com.poc.authlib.autoconfiguration.authority;
+
+import com.poc.authlib.common.dto.RoleDTO;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Interns one {@link GrantedAuthority} per permission and canonicalises identical permission sets,
+ * so users sharing a role combination resolve to the same immutable {@link AuthoritySet}.
+ * Permission sets are keyed by content, so a changed role definition yields a different set.
+ */
+public class AuthorityRegistry {
+
+    public static final int NOT_REGISTERED = -1;
+
+    private static final int DEFAULT_MAX_PERMISSIONS = 4096;
+    private static final int DEFAULT_MAX_AUTHORITY_SETS = 10_000;
+
+    private final int maxPermissions;
+    private final int maxAuthoritySets;
+    private final Map<String, Integer> indexByPermission = new ConcurrentHashMap<>();
+    private final Map<BitSet, AuthoritySet> authoritySets = new ConcurrentHashMap<>();
+    private final ThreadLocal<BitSet> scratch = ThreadLocal.withInitial(BitSet::new);
+    private volatile GrantedAuthority[] authorities = new GrantedAuthority[0];
+
+    public AuthorityRegistry() {
+        this(DEFAULT_MAX_PERMISSIONS, DEFAULT_MAX_AUTHORITY_SETS);
+    }
+
+    public AuthorityRegistry(int maxPermissions, int maxAuthoritySets) {
+        this.maxPermissions = maxPermissions;
+        this.maxAuthoritySets = maxAuthoritySets;
+    }
+
+    /**
+     * Shared authority set of the roles' permissions. Falls back to a plain, not interned set
+     * once the permission universe exceeds the registry bound. Missing roles or permissions count as none.
+     */
+    public Set<GrantedAuthority> authoritiesOf(List<RoleDTO> roles) {
+        if (roles == null) {
+            return authoritiesOf(List.of());
+        }
+        var permissions = scratch.get();
+        permissions.clear();
+        for (var role : roles) {
+            for (var permission : permissionsOf(role)) {
+                var index = register(permission);
+                if (index == NOT_REGISTERED) {
+                    return notInterned(roles);
+                }
+                permissions.set(index);
+            }
+        }
+        var shared = authoritySets.get(permissions);
+        if (shared != null) {
+            return shared;
+        }
+        var authoritySet = new AuthoritySet(this, (BitSet) permissions.clone());
+        if (authoritySets.size() >= maxAuthoritySets) {
+            return authoritySet;
+        }
+        var existing = authoritySets.putIfAbsent(authoritySet.getPermissions(), authoritySet);
+        return existing != null ? existing : authoritySet;
+    }
+
+    /**
+     * Index of a permission, registering it if needed, or {@link #NOT_REGISTERED} when the registry is full.
+     */
+    public int register(String permission) {
+        var index = indexByPermission.get(permission);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = indexByPermission.get(permission);
+            if (index != null) {
+                return index;
+            }
+            if (authorities.length >= maxPermissions) {
+                return NOT_REGISTERED;
+            }
+            var registered = Arrays.copyOf(authorities, authorities.length + 1);
+            registered[authorities.length] = new SimpleGrantedAuthority(permission);
+            authorities = registered;
+            indexByPermission.put(permission, authorities.length - 1);
+            return authorities.length - 1;
+        }
+    }
+
+    public int indexOf(String permission) {
+        var index = indexByPermission.get(permission);
+        return index != null ? index : NOT_REGISTERED;
+    }
+
+    private Set<GrantedAuthority> notInterned(List<RoleDTO> roles) {
+        return roles.stream()
+                .flatMap(role -> permissionsOf(role).stream())
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static List<String> permissionsOf(RoleDTO role) {
+        return role != null && role.getPermissions() != null ? role.getPermissions() : List.of();
+    }
+
+    GrantedAuthority authority(int index) {
+        return authorities[index];
+    }
+}
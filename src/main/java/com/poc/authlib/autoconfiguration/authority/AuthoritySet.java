@@ -0,0 +1,68 @@
+package com.poc.authlib.autoconfiguration.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable bitset-backed set of interned authorities, see {@link AuthorityRegistry}.
+ */
+public final class AuthoritySet extends AbstractSet<GrantedAuthority> {
+
+    private final AuthorityRegistry registry;
+    private final BitSet permissions;
+    private final int size;
+
+    AuthoritySet(AuthorityRegistry registry, BitSet permissions) {
+        this.registry = registry;
+        this.permissions = permissions;
+        this.size = permissions.cardinality();
+    }
+
+    public boolean hasPermission(int index) {
+        return index >= 0 && permissions.get(index);
+    }
+
+    public boolean hasPermission(String permission) {
+        return hasPermission(registry.indexOf(permission));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof GrantedAuthority authority && hasPermission(authority.getAuthority());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<GrantedAuthority> iterator() {
+        return new Iterator<>() {
+            private int next = permissions.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public GrantedAuthority next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                var authority = registry.authority(next);
+                next = permissions.nextSetBit(next + 1);
+                return authority;
+            }
+        };
+    }
+
+    BitSet getPermissions() {
+        return permissions;
+    }
+}
@@ -0,0 +1,62 @@
+package com.poc.authlib.autoconfiguration.authority;
+
+import com.poc.authlib.autoconfiguration.PrincipalAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * Required permissions of one method, resolved to {@link AuthorityRegistry} indices when the method
+ * is first matched. Principals carrying an {@link AuthoritySet} are checked by bit lookups, any other
+ * authority collection by comparing names.
+ */
+public final class PermissionCheck {
+
+    private final String[] permissions;
+    private final int[] indices;
+
+    public PermissionCheck(AuthorityRegistry authorityRegistry, String[] permissions) {
+        this.permissions = permissions.clone();
+        this.indices = new int[permissions.length];
+        for (var i = 0; i < permissions.length; i++) {
+            indices[i] = authorityRegistry.register(permissions[i]);
+        }
+    }
+
+    public boolean isGranted(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        var authorities = authentication instanceof PrincipalAuthenticationToken token
+                ? token.getAuthoritySet()
+                : authentication.getAuthorities();
+        if (authorities instanceof AuthoritySet authoritySet) {
+            for (var index : indices) {
+                if (!authoritySet.hasPermission(index)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (var permission : permissions) {
+            if (!contains(authorities, permission)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String describe() {
+        return String.join(", ", permissions);
+    }
+
+    private static boolean contains(Collection<? extends GrantedAuthority> authorities, String permission) {
+        for (var authority : authorities) {
+            if (permission.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
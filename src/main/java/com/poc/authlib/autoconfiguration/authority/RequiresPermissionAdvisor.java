@@ -0,0 +1,40 @@
+package com.poc.authlib.autoconfiguration.authority;
+
+import com.poc.authlib.common.annotation.RequiresPermission;
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AbstractPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+
+/**
+ * Applies {@link RequiresPermissionInterceptor} to beans with {@link RequiresPermission} methods or types.
+ * Matching happens while proxies are created, so required permissions are resolved at startup.
+ */
+public class RequiresPermissionAdvisor extends AbstractPointcutAdvisor {
+
+    private final RequiresPermissionInterceptor interceptor;
+    private final Pointcut pointcut;
+
+    public RequiresPermissionAdvisor(Supplier<AuthorityRegistry> authorityRegistry) {
+        this.interceptor = new RequiresPermissionInterceptor(authorityRegistry);
+        this.pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return interceptor.checkOf(method, targetClass).isPresent();
+            }
+        };
+    }
+
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return interceptor;
+    }
+}
@@ -0,0 +1,98 @@
+package com.poc.authlib.autoconfiguration.authority;
+
+import com.poc.authlib.common.annotation.RequiresPermission;
+import com.poc.authlib.common.exception.ForbiddenException;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Enforces {@link RequiresPermission}. Checks are built when the advisor matches a method at startup;
+ * methods returning {@link Mono} or {@link Flux} are checked against the reactive security context, or against
+ * the authentication of the invoking thread when they are called from a servlet request.
+ */
+@Slf4j
+public class RequiresPermissionInterceptor implements MethodInterceptor {
+
+    private final Supplier<AuthorityRegistry> authorityRegistry;
+    private final Map<MethodClassKey, Optional<PermissionCheck>> checks = new ConcurrentHashMap<>();
+
+    public RequiresPermissionInterceptor(Supplier<AuthorityRegistry> authorityRegistry) {
+        this.authorityRegistry = authorityRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var method = invocation.getMethod();
+        var check = checkOf(method, invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null);
+        if (check.isEmpty()) {
+            return invocation.proceed();
+        }
+        var permissionCheck = check.get();
+        var returnType = method.getReturnType();
+        var invoker = SecurityContextHolder.getContext().getAuthentication();
+        if (Mono.class.isAssignableFrom(returnType)) {
+            return reactiveAuthentication(permissionCheck, invoker)
+                    .then(Mono.defer(() -> (Mono<?>) proceed(invocation)));
+        }
+        if (Flux.class.isAssignableFrom(returnType)) {
+            return reactiveAuthentication(permissionCheck, invoker)
+                    .thenMany(Flux.defer(() -> (Publisher<?>) proceed(invocation)));
+        }
+        if (!permissionCheck.isGranted(invoker)) {
+            throw forbidden(permissionCheck);
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * Resolves and caches the check of a method, empty when neither the method nor its class is annotated.
+     */
+    Optional<PermissionCheck> checkOf(Method method, Class<?> targetClass) {
+        var type = targetClass != null ? targetClass : method.getDeclaringClass();
+        return checks.computeIfAbsent(new MethodClassKey(method, type), key -> {
+            var specificMethod = AopUtils.getMostSpecificMethod(method, type);
+            return Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(specificMethod, RequiresPermission.class))
+                    .or(() -> Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(type, RequiresPermission.class)))
+                    .map(annotation -> new PermissionCheck(authorityRegistry.get(), annotation.value()));
+        });
+    }
+
+    private Mono<Void> reactiveAuthentication(PermissionCheck permissionCheck, Authentication invoker) {
+        return ReactiveSecurityContextHolder.getContext()
+                .flatMap(context -> Mono.justOrEmpty(context.getAuthentication()))
+                .switchIfEmpty(Mono.justOrEmpty(invoker))
+                .filter(permissionCheck::isGranted)
+                .switchIfEmpty(Mono.error(() -> forbidden(permissionCheck)))
+                .then();
+    }
+
+    private static Object proceed(MethodInvocation invocation) {
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            throw Exceptions.propagate(e);
+        }
+    }
+
+    private static ForbiddenException forbidden(PermissionCheck permissionCheck) {
+        log.debug("Access denied, missing one of permissions: {}", permissionCheck.describe());
+        return new ForbiddenException("Access is denied");
+    }
+}
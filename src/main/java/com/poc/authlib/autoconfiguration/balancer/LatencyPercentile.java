@@ -0,0 +1,48 @@
+package com.poc.authlib.autoconfiguration.balancer;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Percentile of the most recent call latencies, kept in a ring and recomputed every
+ * {@link #RECOMPUTE_INTERVAL} samples so reading it costs a volatile load.
+ */
+final class LatencyPercentile {
+
+    private static final int SAMPLES = 1024;
+    private static final int RECOMPUTE_INTERVAL = 128;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+    private final AtomicInteger recorded = new AtomicInteger();
+    private volatile long value = -1;
+
+    LatencyPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    void record(long nanos) {
+        var index = recorded.getAndIncrement() & Integer.MAX_VALUE;
+        samples.set(index & (SAMPLES - 1), nanos);
+        if ((index + 1) % RECOMPUTE_INTERVAL == 0) {
+            recompute(Math.min(index + 1, SAMPLES));
+        }
+    }
+
+    /**
+     * @return percentile in nanoseconds, -1 until enough samples were recorded
+     */
+    long get() {
+        return value;
+    }
+
+    private void recompute(int count) {
+        var sorted = new long[count];
+        for (var i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        value = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+    }
+}
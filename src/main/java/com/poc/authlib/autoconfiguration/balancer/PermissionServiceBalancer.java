@@ -0,0 +1,166 @@
+package com.poc.authlib.autoconfiguration.balancer;
+
+import com.poc.authlib.properties.AuthServiceProperties;
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Client-side load balancing over the permission service replicas: power of two choices by outstanding
+ * requests (optionally weighted by latency) among healthy replicas, and optional hedging, where a call
+ * that has not answered within the observed latency percentile is also sent to another replica and the
+ * first answer wins.
+ */
+public class PermissionServiceBalancer {
+
+    @Getter
+    private final List<PermissionServiceEndpoint> endpoints;
+    private final AuthServiceProperties.LoadBalancing.Strategy strategy;
+    private final AuthServiceProperties.Hedging hedging;
+    private final LatencyPercentile latencyPercentile;
+    private final AtomicLong hedgedCalls = new AtomicLong();
+
+    public PermissionServiceBalancer(AuthServiceProperties authServiceProperties) {
+        var loadBalancing = authServiceProperties.getLoadBalancing();
+        var urls = authServiceProperties.getEndpoints().isEmpty()
+                ? List.of(authServiceProperties.getEndpoint())
+                : authServiceProperties.getEndpoints();
+        this.endpoints = urls.stream()
+                .map(url -> new PermissionServiceEndpoint(url, loadBalancing.getFailureThreshold(),
+                        loadBalancing.getEjectDuration().toNanos()))
+                .collect(Collectors.toUnmodifiableList());
+        this.strategy = loadBalancing.getStrategy();
+        this.hedging = loadBalancing.getHedging();
+        this.latencyPercentile = new LatencyPercentile(hedging.getPercentile());
+    }
+
+    /**
+     * @param call request against the given replica base url, subscribed once per attempt
+     */
+    public <T> Mono<T> execute(Function<String, Mono<T>> call) {
+        return Mono.defer(() -> {
+            var primary = select(null);
+            if (!hedging.isEnabled() || endpoints.size() < 2) {
+                return attempt(primary, call);
+            }
+            var primaryError = new AtomicReference<Throwable>();
+            var primaryFailed = Sinks.<Void>empty();
+            var first = attempt(primary, call).doOnError(e -> {
+                primaryError.set(e);
+                primaryFailed.tryEmitEmpty();
+            });
+            // a primary that failed to answer is hedged right away, one that answered with a 4xx is not hedged at all
+            var hedge = Mono.firstWithSignal(Mono.delay(hedgeDelay()).then(), primaryFailed.asMono())
+                    .then(Mono.defer(() -> {
+                        var failure = primaryError.get();
+                        if (isAnswer(failure)) {
+                            return Mono.<T>error(failure);
+                        }
+                        hedgedCalls.incrementAndGet();
+                        return attempt(select(primary), call);
+                    }));
+            return Mono.firstWithValue(first, hedge)
+                    .onErrorMap(e -> primaryError.get() != null ? primaryError.get() : e);
+        });
+    }
+
+    /**
+     * Calls without hedging, for requests too expensive to send twice.
+     */
+    public <T> Mono<T> executeOnce(Function<String, Mono<T>> call) {
+        return Mono.defer(() -> attempt(select(null), call));
+    }
+
+    public long getHedgedCalls() {
+        return hedgedCalls.get();
+    }
+
+    private <T> Mono<T> attempt(PermissionServiceEndpoint endpoint, Function<String, Mono<T>> call) {
+        return Mono.defer(() -> {
+            var start = endpoint.started();
+            var done = new AtomicBoolean();
+            return call.apply(endpoint.getBaseUrl())
+                    .doOnSuccess(result -> {
+                        done.set(true);
+                        endpoint.answered(start);
+                        latencyPercentile.record(System.nanoTime() - start);
+                    })
+                    .doOnError(e -> {
+                        done.set(true);
+                        if (isAnswer(e)) {
+                            endpoint.answered(start);
+                        } else {
+                            endpoint.failed();
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (!done.get()) {
+                            endpoint.cancelled();
+                            // the losing call took at least this long, leaving it out would only ever lower the delay
+                            latencyPercentile.record(System.nanoTime() - start);
+                        }
+                    });
+        });
+    }
+
+    private static boolean isAnswer(Throwable e) {
+        return e instanceof WebClientResponseException responseException
+                && responseException.getRawStatusCode() < 500;
+    }
+
+    private Duration hedgeDelay() {
+        var percentile = latencyPercentile.get();
+        var max = hedging.getMaxDelay().toNanos();
+        var delay = percentile < 0 ? max : Math.max(hedging.getMinDelay().toNanos(), Math.min(max, percentile));
+        return Duration.ofNanos(delay);
+    }
+
+    /**
+     * Best of two random healthy replicas other than {@code excluded}; all replicas when none is healthy.
+     */
+    PermissionServiceEndpoint select(PermissionServiceEndpoint excluded) {
+        var size = endpoints.size();
+        if (size == 1) {
+            return endpoints.get(0);
+        }
+        var now = System.nanoTime();
+        var random = ThreadLocalRandom.current();
+        PermissionServiceEndpoint best = null;
+        PermissionServiceEndpoint fallback = null;
+        var offset = random.nextInt(size);
+        var candidates = 0;
+        for (var i = 0; i < size && candidates < 2; i++) {
+            var endpoint = endpoints.get((offset + i) % size);
+            if (endpoint == excluded) {
+                continue;
+            }
+            if (fallback == null) {
+                fallback = endpoint;
+            }
+            if (!endpoint.isHealthy(now)) {
+                continue;
+            }
+            candidates++;
+            if (best == null || score(endpoint) < score(best)) {
+                best = endpoint;
+            }
+        }
+        return best != null ? best : fallback;
+    }
+
+    private double score(PermissionServiceEndpoint endpoint) {
+        return strategy == AuthServiceProperties.LoadBalancing.Strategy.LATENCY_WEIGHTED
+                ? (endpoint.getOutstanding() + 1) * Math.max(1, endpoint.getLatency())
+                : endpoint.getOutstanding();
+    }
+}
@@ -0,0 +1,73 @@
+package com.poc.authlib.autoconfiguration.balancer;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One permission service replica with its passively tracked load and health: outstanding requests,
+ * latency moving average and consecutive failures, which take it out of rotation for a while.
+ */
+public final class PermissionServiceEndpoint {
+
+    private static final double LATENCY_WEIGHT = 0.3;
+
+    @Getter
+    private final String baseUrl;
+    private final int failureThreshold;
+    private final long ejectNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong latencyBits = new AtomicLong(Double.doubleToLongBits(0));
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntil;
+
+    PermissionServiceEndpoint(String baseUrl, int failureThreshold, long ejectNanos) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.failureThreshold = failureThreshold;
+        this.ejectNanos = ejectNanos;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Latency moving average in nanoseconds, 0 until the first answer.
+     */
+    public double getLatency() {
+        return Double.longBitsToDouble(latencyBits.get());
+    }
+
+    public boolean isHealthy(long now) {
+        return now - ejectedUntil >= 0;
+    }
+
+    long started() {
+        outstanding.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    void cancelled() {
+        outstanding.decrementAndGet();
+    }
+
+    void answered(long startNanos) {
+        var now = System.nanoTime();
+        outstanding.decrementAndGet();
+        consecutiveFailures.set(0);
+        var sample = now - startNanos;
+        latencyBits.getAndUpdate(bits -> {
+            var latency = Double.longBitsToDouble(bits);
+            return Double.doubleToLongBits(latency == 0 ? sample : latency + LATENCY_WEIGHT * (sample - latency));
+        });
+    }
+
+    void failed() {
+        outstanding.decrementAndGet();
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            consecutiveFailures.set(0);
+            ejectedUntil = System.nanoTime() + ejectNanos;
+        }
+    }
+}
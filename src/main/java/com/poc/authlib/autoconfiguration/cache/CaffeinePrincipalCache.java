@@ -0,0 +1,95 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+import com.poc.authlib.properties.AuthServiceProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Bounded principal cache with expire-after-write TTL, capped per entry for tokens that expire sooner,
+ * and W-TinyLFU size eviction.
+ */
+public final class CaffeinePrincipalCache implements PrincipalCache {
+
+    private final Cache<String, AuthorizedPrincipal> cache;
+    private final Duration ttl;
+
+    public CaffeinePrincipalCache(AuthServiceProperties.Cache properties) {
+        this.ttl = properties.getTtl();
+        var ttlNanos = ttl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfter(new Expiry<String, AuthorizedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, AuthorizedPrincipal value, long currentTime) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, AuthorizedPrincipal value, long currentTime,
+                                                  long currentDuration) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, AuthorizedPrincipal value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<AuthorizedPrincipal> get(String tokenHash) {
+        return Optional.ofNullable(cache.getIfPresent(tokenHash));
+    }
+
+    @Override
+    public void put(String tokenHash, AuthorizedPrincipal principal) {
+        cache.put(tokenHash, principal);
+    }
+
+    @Override
+    public void put(String tokenHash, AuthorizedPrincipal principal, Instant expiresAt) {
+        var remaining = Duration.between(Instant.now(), expiresAt);
+        if (remaining.isNegative() || remaining.isZero()) {
+            cache.invalidate(tokenHash);
+            return;
+        }
+        cache.policy().expireVariably().orElseThrow()
+                .put(tokenHash, principal, remaining.compareTo(ttl) < 0 ? remaining : ttl);
+    }
+
+    @Override
+    public void invalidate(String tokenHash) {
+        cache.invalidate(tokenHash);
+    }
+
+    @Override
+    public void invalidateUser(String userId) {
+        cache.asMap().values().removeIf(principal -> userId.equals(principal.getUser().getUserId()));
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public PrincipalCacheStats stats() {
+        var stats = cache.stats();
+        return PrincipalCacheStats.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Embedded stand-in for a remote key-value store, for tests and single-node setups.
+ */
+public class InMemoryKeyValueStore implements KeyValueStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<byte[]> get(String key) {
+        return Mono.fromSupplier(() -> {
+            var entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                entries.remove(key, entry);
+                return null;
+            }
+            return entry.value;
+        });
+    }
+
+    @Override
+    public Mono<Void> set(String key, byte[] value, Duration ttl) {
+        return Mono.fromRunnable(() -> entries.put(key, new Entry(value, System.currentTimeMillis() + ttl.toMillis())));
+    }
+
+    @Override
+    public Mono<Void> delete(String key) {
+        return Mono.fromRunnable(() -> entries.remove(key));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(byte[] value, long expiresAt) {
+    }
+}
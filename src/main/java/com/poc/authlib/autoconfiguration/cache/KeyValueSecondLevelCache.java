@@ -0,0 +1,39 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Second level shared by all nodes through a remote {@link KeyValueStore}, so a cold node is served
+ * by principals its peers already resolved.
+ */
+@RequiredArgsConstructor
+public class KeyValueSecondLevelCache implements SecondLevelCache {
+
+    private static final String KEY_PREFIX = "auth:principal:";
+
+    private final KeyValueStore keyValueStore;
+
+    @Override
+    public Mono<byte[]> get(String tokenHash) {
+        return keyValueStore.get(KEY_PREFIX + tokenHash);
+    }
+
+    @Override
+    public Mono<Void> put(String tokenHash, byte[] principal, Duration ttl) {
+        return keyValueStore.set(KEY_PREFIX + tokenHash, principal, ttl);
+    }
+
+    @Override
+    public Mono<Void> invalidate(String tokenHash) {
+        return keyValueStore.delete(KEY_PREFIX + tokenHash);
+    }
+
+    @Override
+    public Mono<Void> invalidateAll() {
+        //remote entries expire by ttl, SharedPrincipalCache ignores entries older than the invalidation
+        return Mono.empty();
+    }
+}
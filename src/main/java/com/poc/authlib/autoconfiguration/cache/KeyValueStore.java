@@ -0,0 +1,18 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Minimal client of a remote key-value store (Redis, Memcached, ...) backing {@link KeyValueSecondLevelCache}.
+ * Applications register a bean adapting their client; {@link InMemoryKeyValueStore} stands in locally.
+ */
+public interface KeyValueStore {
+
+    Mono<byte[]> get(String key);
+
+    Mono<Void> set(String key, byte[] value, Duration ttl);
+
+    Mono<Void> delete(String key);
+}
@@ -0,0 +1,44 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public final class NoOpPrincipalCache implements PrincipalCache {
+
+    @Override
+    public Optional<AuthorizedPrincipal> get(String tokenHash) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String tokenHash, AuthorizedPrincipal principal) {
+        //caching is disabled
+    }
+
+    @Override
+    public void put(String tokenHash, AuthorizedPrincipal principal, Instant expiresAt) {
+        //caching is disabled
+    }
+
+    @Override
+    public void invalidate(String tokenHash) {
+        //caching is disabled
+    }
+
+    @Override
+    public void invalidateUser(String userId) {
+        //caching is disabled
+    }
+
+    @Override
+    public void invalidateAll() {
+        //caching is disabled
+    }
+
+    @Override
+    public PrincipalCacheStats stats() {
+        return PrincipalCacheStats.EMPTY;
+    }
+}
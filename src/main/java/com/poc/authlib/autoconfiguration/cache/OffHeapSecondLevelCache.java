@@ -0,0 +1,235 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import com.poc.authlib.properties.AuthServiceProperties;
+import reactor.core.publisher.Mono;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size slot table outside the Java heap, in direct memory or, when a file is configured, a
+ * memory-mapped file the operating system can page out. The file is truncated on startup: revocation
+ * watermarks live in memory and revocations issued while the process was down are unknown, so entries
+ * of a previous run cannot be trusted. Each slot holds the binary token hash,
+ * the expiry and one encoded principal; a lookup probes a few slots of one locked segment, and a
+ * full probe window replaces the entry closest to expiry. Principals larger than a slot are not cached.
+ */
+public final class OffHeapSecondLevelCache implements SecondLevelCache, Closeable {
+
+    private static final int MAX_PROBES = 8;
+    private static final int MIN_SEGMENTS = 16;
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+    private static final int KEY_BYTES = 32;
+    private static final int USED_OFFSET = 0;
+    private static final int KEY_OFFSET = 1;
+    private static final int EXPIRES_AT_OFFSET = KEY_OFFSET + KEY_BYTES;
+    private static final int LENGTH_OFFSET = EXPIRES_AT_OFFSET + Long.BYTES;
+    private static final int PAYLOAD_OFFSET = LENGTH_OFFSET + Integer.BYTES;
+
+    private final int slotSize;
+    private final Segment[] segments;
+    private final FileChannel fileChannel;
+    private final LongAdder oversizedCount = new LongAdder();
+
+    public OffHeapSecondLevelCache(AuthServiceProperties.SharedCache properties) {
+        this.slotSize = properties.getSlotSize();
+        if (slotSize <= PAYLOAD_OFFSET) {
+            throw new IllegalArgumentException("auth.service.shared-cache.slot-size must exceed " + PAYLOAD_OFFSET);
+        }
+        var totalBytes = properties.getMaxEntries() * slotSize;
+        var segmentCount = (int) Math.max(MIN_SEGMENTS, (totalBytes + MAX_SEGMENT_BYTES - 1) / MAX_SEGMENT_BYTES);
+        var slotsPerSegment = (int) Math.max(MAX_PROBES, (properties.getMaxEntries() + segmentCount - 1) / segmentCount);
+        var segmentBytes = (long) slotsPerSegment * slotSize;
+        this.fileChannel = Optional.ofNullable(properties.getFile()).map(OffHeapSecondLevelCache::open).orElse(null);
+        this.segments = new Segment[segmentCount];
+        for (var i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(allocate(i * segmentBytes, segmentBytes), slotsPerSegment);
+        }
+    }
+
+    @Override
+    public Mono<byte[]> get(String tokenHash) {
+        return Mono.fromSupplier(() -> {
+            var key = HexFormat.of().parseHex(tokenHash);
+            return segmentOf(key).get(key, System.currentTimeMillis());
+        });
+    }
+
+    @Override
+    public Mono<Void> put(String tokenHash, byte[] principal, Duration ttl) {
+        return Mono.fromRunnable(() -> {
+            if (principal.length > slotSize - PAYLOAD_OFFSET) {
+                oversizedCount.increment();
+                return;
+            }
+            var key = HexFormat.of().parseHex(tokenHash);
+            var now = System.currentTimeMillis();
+            segmentOf(key).put(key, principal, now + ttl.toMillis(), now);
+        });
+    }
+
+    @Override
+    public Mono<Void> invalidate(String tokenHash) {
+        return Mono.fromRunnable(() -> {
+            var key = HexFormat.of().parseHex(tokenHash);
+            segmentOf(key).remove(key);
+        });
+    }
+
+    @Override
+    public Mono<Void> invalidateAll() {
+        return Mono.fromRunnable(() -> {
+            for (var segment : segments) {
+                segment.clear();
+            }
+        });
+    }
+
+    public long getOversizedCount() {
+        return oversizedCount.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        //mapped regions stay valid after the channel is closed and are released with the buffers
+        if (fileChannel != null) {
+            fileChannel.close();
+        }
+    }
+
+    private Segment segmentOf(byte[] key) {
+        return segments[Math.floorMod(intAt(key, 0), segments.length)];
+    }
+
+    private ByteBuffer allocate(long offset, long size) {
+        if (fileChannel == null) {
+            return ByteBuffer.allocateDirect((int) size);
+        }
+        try {
+            return fileChannel.map(FileChannel.MapMode.READ_WRITE, offset, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileChannel open(String file) {
+        try {
+            return FileChannel.open(Path.of(file), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int intAt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16
+                | (bytes[offset + 2] & 0xFF) << 8 | (bytes[offset + 3] & 0xFF);
+    }
+
+    private final class Segment {
+        private final ByteBuffer buffer;
+        private final int slots;
+
+        Segment(ByteBuffer buffer, int slots) {
+            this.buffer = buffer;
+            this.slots = slots;
+        }
+
+        synchronized byte[] get(byte[] key, long now) {
+            var slot = find(key);
+            if (slot < 0) {
+                return null;
+            }
+            var base = slot * slotSize;
+            if (buffer.getLong(base + EXPIRES_AT_OFFSET) <= now) {
+                buffer.put(base + USED_OFFSET, (byte) 0);
+                return null;
+            }
+            var value = new byte[buffer.getInt(base + LENGTH_OFFSET)];
+            buffer.get(base + PAYLOAD_OFFSET, value);
+            return value;
+        }
+
+        synchronized void put(byte[] key, byte[] value, long expiresAt, long now) {
+            var slot = find(key);
+            if (slot < 0) {
+                slot = victimOf(key, now);
+            }
+            var base = slot * slotSize;
+            buffer.put(base + KEY_OFFSET, key);
+            buffer.putLong(base + EXPIRES_AT_OFFSET, expiresAt);
+            buffer.putInt(base + LENGTH_OFFSET, value.length);
+            buffer.put(base + PAYLOAD_OFFSET, value);
+            buffer.put(base + USED_OFFSET, (byte) 1);
+        }
+
+        synchronized void remove(byte[] key) {
+            var slot = find(key);
+            if (slot >= 0) {
+                buffer.put(slot * slotSize + USED_OFFSET, (byte) 0);
+            }
+        }
+
+        synchronized void clear() {
+            for (var slot = 0; slot < slots; slot++) {
+                buffer.put(slot * slotSize + USED_OFFSET, (byte) 0);
+            }
+        }
+
+        private int find(byte[] key) {
+            var start = startOf(key);
+            for (var probe = 0; probe < MAX_PROBES; probe++) {
+                var slot = (start + probe) % slots;
+                var base = slot * slotSize;
+                if (buffer.get(base + USED_OFFSET) != 0 && matches(base, key)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private int victimOf(byte[] key, long now) {
+            var start = startOf(key);
+            var victim = start;
+            var victimExpiresAt = Long.MAX_VALUE;
+            for (var probe = 0; probe < MAX_PROBES; probe++) {
+                var slot = (start + probe) % slots;
+                var base = slot * slotSize;
+                if (buffer.get(base + USED_OFFSET) == 0) {
+                    return slot;
+                }
+                var slotExpiresAt = buffer.getLong(base + EXPIRES_AT_OFFSET);
+                if (slotExpiresAt <= now) {
+                    return slot;
+                }
+                if (slotExpiresAt < victimExpiresAt) {
+                    victim = slot;
+                    victimExpiresAt = slotExpiresAt;
+                }
+            }
+            return victim;
+        }
+
+        private boolean matches(int base, byte[] key) {
+            for (var i = 0; i < KEY_BYTES; i++) {
+                if (buffer.get(base + KEY_OFFSET + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int startOf(byte[] key) {
+            return Math.floorMod(intAt(key, 4), slots);
+        }
+    }
+}
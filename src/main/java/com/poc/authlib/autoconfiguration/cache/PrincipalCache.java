@@ -0,0 +1,39 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+import com.poc.authlib.properties.AuthServiceProperties;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Cache of resolved principals keyed by token hash (see {@link TokenHasher}), never by the raw token.
+ */
+public interface PrincipalCache {
+
+    static PrincipalCache create(AuthServiceProperties.Cache properties) {
+        return properties.isEnabled()
+                ? new CaffeinePrincipalCache(properties)
+                : new NoOpPrincipalCache();
+    }
+
+    Optional<AuthorizedPrincipal> get(String tokenHash);
+
+    void put(String tokenHash, AuthorizedPrincipal principal);
+
+    /**
+     * Caches for the configured TTL, but no longer than until {@code expiresAt}.
+     */
+    void put(String tokenHash, AuthorizedPrincipal principal, Instant expiresAt);
+
+    void invalidate(String tokenHash);
+
+    /**
+     * Drops every cached token of the user; a full scan, meant for infrequent revocations.
+     */
+    void invalidateUser(String userId);
+
+    void invalidateAll();
+
+    PrincipalCacheStats stats();
+}
@@ -0,0 +1,15 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class PrincipalCacheStats {
+    public static final PrincipalCacheStats EMPTY = PrincipalCacheStats.builder().build();
+
+    long size;
+    long hitCount;
+    long missCount;
+    long evictionCount;
+}
@@ -0,0 +1,215 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+import com.poc.authlib.common.dto.RoleDTO;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact binary form of a principal for the shared cache and the permission service wire format
+ * ({@code application/vnd.authlib.principal+binary}): a version byte, the resolution time,
+ * then varint length-prefixed UTF-8 strings for the user id, role names and permissions.
+ * Lengths and counts are stored plus one so that 0 encodes null. Authorities are not stored,
+ * they are rebuilt through the {@link AuthorityRegistry} on decode.
+ */
+public final class PrincipalCodec {
+
+    private static final byte VERSION = 1;
+
+    private final AuthorityRegistry authorityRegistry;
+
+    public PrincipalCodec(AuthorityRegistry authorityRegistry) {
+        this.authorityRegistry = authorityRegistry;
+    }
+
+    public byte[] encode(AuthorizedPrincipal principal) {
+        return encode(principal.getUser(), principal.getResolvedAt());
+    }
+
+    public static byte[] encode(AuthSystemUserDTO user, long resolvedAt) {
+        var writer = new Writer();
+        writer.writeByte(VERSION);
+        writer.writeLong(resolvedAt);
+        writer.writeString(user.getUserId());
+        var roles = user.getRoles();
+        writer.writeCount(roles);
+        if (roles != null) {
+            for (var role : roles) {
+                writer.writeString(role.getName());
+                var permissions = role.getPermissions();
+                writer.writeCount(permissions);
+                if (permissions != null) {
+                    for (var permission : permissions) {
+                        writer.writeString(permission);
+                    }
+                }
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    public AuthorizedPrincipal decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decodes from the buffer's position; the position is advanced past the principal.
+     *
+     * @throws IllegalArgumentException when the bytes are not a principal of a known version
+     */
+    public AuthorizedPrincipal decode(ByteBuffer buffer) {
+        try {
+            var resolvedAt = readHeader(buffer);
+            var user = readUser(buffer);
+            var authorities = authorityRegistry.authoritiesOf(user.getRoles());
+            return new AuthorizedPrincipal(user, authorities, resolvedAt);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated principal encoding", e);
+        }
+    }
+
+    /**
+     * Decodes only the user, as received from the permission service in the binary wire format;
+     * the resolution time written by the server is ignored.
+     */
+    public static AuthSystemUserDTO decodeUser(ByteBuffer buffer) {
+        try {
+            readHeader(buffer);
+            return readUser(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated principal encoding", e);
+        }
+    }
+
+    private static long readHeader(ByteBuffer buffer) {
+        if (buffer.get() != VERSION) {
+            throw new IllegalArgumentException("Unsupported principal encoding version");
+        }
+        return buffer.getLong();
+    }
+
+    private static AuthSystemUserDTO readUser(ByteBuffer buffer) {
+        var userId = readString(buffer);
+        var roleCount = readCount(buffer);
+        List<RoleDTO> roles = null;
+        if (roleCount >= 0) {
+            roles = new ArrayList<>(roleCount);
+            for (var i = 0; i < roleCount; i++) {
+                var name = readString(buffer);
+                var permissionCount = readCount(buffer);
+                List<String> permissions = null;
+                if (permissionCount >= 0) {
+                    permissions = new ArrayList<>(permissionCount);
+                    for (var j = 0; j < permissionCount; j++) {
+                        permissions.add(readString(buffer));
+                    }
+                }
+                roles.add(new RoleDTO(name, permissions != null ? Collections.unmodifiableList(permissions) : null));
+            }
+        }
+        return new AuthSystemUserDTO(userId, roles != null ? Collections.unmodifiableList(roles) : null);
+    }
+
+    /**
+     * Every element takes at least one byte, so a count beyond the remaining bytes cannot be genuine and
+     * is rejected before anything is allocated for it.
+     */
+    private static int readCount(ByteBuffer buffer) {
+        var count = readVarInt(buffer) - 1;
+        if (count < -1 || count > buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed count in principal encoding");
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        var length = readVarInt(buffer) - 1;
+        if (length < -1 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed string length in principal encoding");
+        }
+        if (length < 0) {
+            return null;
+        }
+        if (buffer.hasArray()) {
+            var value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        var value = 0;
+        for (var shift = 0; shift < 32; shift += 7) {
+            var b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in principal encoding");
+    }
+
+    private static final class Writer {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(Long.BYTES);
+            for (var shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void writeCount(List<?> list) {
+            writeVarInt(list == null ? 0 : list.size() + 1);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            var utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(utf8.length + 1);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+import com.poc.authlib.properties.AuthServiceProperties;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Re-resolves cached principals in the background when they are read shortly before expiry,
+ * so hot tokens are not left to miss. At most one refresh per token and a bounded number overall.
+ */
+@Slf4j
+public final class RefreshAhead {
+
+    private final boolean enabled;
+    private final long refreshAfterMillis;
+    private final int maxConcurrentRefreshes;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public RefreshAhead(AuthServiceProperties.Cache properties) {
+        var window = properties.getRefreshAhead();
+        this.enabled = properties.isEnabled() && !window.isZero() && window.compareTo(properties.getTtl()) < 0;
+        this.refreshAfterMillis = properties.getTtl().minus(window).toMillis();
+        this.maxConcurrentRefreshes = properties.getMaxConcurrentRefreshes();
+    }
+
+    public boolean isDue(AuthorizedPrincipal principal) {
+        return enabled && System.currentTimeMillis() - principal.getResolvedAt() >= refreshAfterMillis;
+    }
+
+    /**
+     * Subscribes to the refresh when the principal is due and no refresh of the same token is running.
+     */
+    public void refreshIfDue(String tokenHash, AuthorizedPrincipal principal, Supplier<Mono<?>> refresh) {
+        if (!isDue(principal) || !refreshing.add(tokenHash)) {
+            return;
+        }
+        if (!tryAcquire()) {
+            refreshing.remove(tokenHash);
+            rejectedCount.increment();
+            return;
+        }
+        Mono.defer(refresh)
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    refreshing.remove(tokenHash);
+                })
+                .subscribe(null, e -> log.debug("Principal refresh failed, message: {}", e.getMessage()));
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private boolean tryAcquire() {
+        for (var current = inFlight.get(); current < maxConcurrentRefreshes; current = inFlight.get()) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Shared or off-heap tier behind the on-heap {@link PrincipalCache}, holding principals encoded by
+ * {@link PrincipalCodec}. Operations are reactive so remote stores do not block request threads.
+ */
+public interface SecondLevelCache {
+
+    SecondLevelCache NONE = new SecondLevelCache() {
+        @Override
+        public Mono<byte[]> get(String tokenHash) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> put(String tokenHash, byte[] principal, Duration ttl) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> invalidate(String tokenHash) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> invalidateAll() {
+            return Mono.empty();
+        }
+    };
+
+    Mono<byte[]> get(String tokenHash);
+
+    Mono<Void> put(String tokenHash, byte[] principal, Duration ttl);
+
+    Mono<Void> invalidate(String tokenHash);
+
+    /**
+     * Best effort for stores that cannot be flushed; {@link SharedPrincipalCache} additionally
+     * ignores entries resolved before the last full invalidation.
+     */
+    Mono<Void> invalidateAll();
+}
@@ -0,0 +1,102 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.poc.authlib.common.dto.AuthorizedPrincipal;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Second level of the principal cache: encodes principals with {@link PrincipalCodec} into a
+ * {@link SecondLevelCache}. Stores that cannot be scanned or flushed are covered by revocation
+ * watermarks, entries resolved before their user's (or the cache's) last invalidation are ignored.
+ * Store failures degrade to misses.
+ */
+@Slf4j
+public class SharedPrincipalCache {
+
+    private static final long MAX_REVOKED_USERS = 100_000;
+
+    private final SecondLevelCache secondLevelCache;
+    private final PrincipalCodec codec;
+    private final Duration ttl;
+    private final Cache<String, Long> revokedUsers;
+    private volatile long invalidatedAllAt;
+
+    public SharedPrincipalCache(SecondLevelCache secondLevelCache, PrincipalCodec codec, Duration ttl) {
+        this.secondLevelCache = secondLevelCache;
+        this.codec = codec;
+        this.ttl = ttl;
+        this.revokedUsers = Caffeine.newBuilder()
+                .maximumSize(MAX_REVOKED_USERS)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return secondLevelCache != SecondLevelCache.NONE;
+    }
+
+    public Mono<AuthorizedPrincipal> get(String tokenHash) {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return secondLevelCache.get(tokenHash)
+                .map(codec::decode)
+                .filter(this::isCurrent)
+                .onErrorResume(e -> {
+                    log.warn("Cannot read shared principal cache, message: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * End of the shared lifetime of a principal, which a copy promoted to the first level must not outlive.
+     */
+    public Instant expiresAt(AuthorizedPrincipal principal) {
+        return Instant.ofEpochMilli(principal.getResolvedAt() + ttl.toMillis());
+    }
+
+    public void put(String tokenHash, AuthorizedPrincipal principal) {
+        if (isEnabled()) {
+            subscribe(Mono.defer(() -> secondLevelCache.put(tokenHash, codec.encode(principal), ttl)));
+        }
+    }
+
+    public void invalidate(String tokenHash) {
+        if (isEnabled()) {
+            subscribe(secondLevelCache.invalidate(tokenHash));
+        }
+    }
+
+    public void invalidateUser(String userId) {
+        if (isEnabled()) {
+            revokedUsers.put(userId, System.currentTimeMillis());
+        }
+    }
+
+    public void invalidateAll() {
+        if (isEnabled()) {
+            invalidatedAllAt = System.currentTimeMillis();
+            revokedUsers.invalidateAll();
+            subscribe(secondLevelCache.invalidateAll());
+        }
+    }
+
+    private boolean isCurrent(AuthorizedPrincipal principal) {
+        var resolvedAt = principal.getResolvedAt();
+        if (resolvedAt + ttl.toMillis() <= System.currentTimeMillis() || resolvedAt <= invalidatedAllAt) {
+            return false;
+        }
+        var userId = principal.getUser().getUserId();
+        var revokedAt = userId != null ? revokedUsers.getIfPresent(userId) : null;
+        return revokedAt == null || resolvedAt > revokedAt;
+    }
+
+    private void subscribe(Mono<Void> operation) {
+        operation.subscribe(null, e -> log.warn("Cannot update shared principal cache, message: {}", e.getMessage()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.poc.authlib.autoconfiguration.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Derives cache keys from security tokens, so raw tokens are never kept in memory structures.
+ */
+public final class TokenHasher {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private TokenHasher() {
+    }
+
+    public static String hash(String authToken) {
+        return HexFormat.of().formatHex(newDigest().digest(authToken.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.poc.authlib.autoconfiguration.execution;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads while the library is still compiled for Java 17.
+ * Virtual threads are available when the application runs on Java 21 or newer.
+ */
+public final class VirtualThreads {
+
+    private static final Optional<Method> NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findExecutorFactory();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.isPresent();
+    }
+
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        var factory = NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.orElseThrow(() -> new UnsupportedOperationException(
+                "Virtual threads require Java 21, running on " + Runtime.version()));
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create virtual thread executor", e);
+        }
+    }
+
+    private static Optional<Method> findExecutorFactory() {
+        try {
+            return Optional.of(Executors.class.getMethod("newVirtualThreadPerTaskExecutor"));
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,28 +1,28 @@
 package com.poc.authlib.autoconfiguration.filter;
 
 import com.poc.authlib.properties.AuthServiceProperties;
-import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-@RequiredArgsConstructor
 public final class AuthEntryPoint implements AuthenticationEntryPoint {
 
-    private final AuthServiceProperties authServiceProperties;
+    private final byte[] errorBody;
+
+    public AuthEntryPoint(AuthServiceProperties authServiceProperties) {
+        this.errorBody = authServiceProperties.getErrorMessage().getBytes(StandardCharsets.UTF_8);
+    }
 
     @Override
     public void commence(HttpServletRequest httpServletRequest,
                          HttpServletResponse httpServletResponse,
                          AuthenticationException e)
             throws IOException {
-        httpServletResponse.setStatus(HttpStatus.UNAUTHORIZED.value());
-        httpServletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        httpServletResponse.getWriter().write(authServiceProperties.getErrorMessage());
+        ErrorResponses.write(httpServletResponse, HttpStatus.UNAUTHORIZED, errorBody);
     }
 }
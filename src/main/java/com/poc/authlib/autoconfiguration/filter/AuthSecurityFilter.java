@@ -1,44 +1,59 @@
 package com.poc.authlib.autoconfiguration.filter;
 
 import com.poc.authlib.autoconfiguration.AuthServiceClient;
-import com.poc.authlib.properties.OpenUrlProperties;
+import com.poc.authlib.autoconfiguration.metrics.AuthMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.util.AntPathMatcher;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 @RequiredArgsConstructor
 public final class AuthSecurityFilter extends OncePerRequestFilter {
 
-    private final OpenUrlProperties openUrlProperties;
+    private static final byte[] ACCESS_DENIED = ErrorResponses.body(HttpStatus.FORBIDDEN, ErrorResponses.ACCESS_DENIED);
+
+    private final OpenUrlMatcher openUrlMatcher;
     private final AuthServiceClient authServiceClient;
-    private final AntPathMatcher antPathMatcher;
+    private final AuthMetrics authMetrics;
+    private final RoutePolicyTable routePolicies;
+    private final AuthenticationEntryPoint authEntryPoint;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        return openUrlProperties.getOpenUrls().stream()
-                .anyMatch(u -> antPathMatcher.match(u, request.getRequestURI()));
+        if (openUrlMatcher.matches(request)) {
+            authMetrics.recordOpenUrlBypass();
+            return true;
+        }
+        return false;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
-                                    FilterChain filterChain) throws IOException {
-            try {
-                authorize(request);
-                filterChain.doFilter(request, response);
-            } catch (Exception ex) {
-                response.sendError(HttpStatus.UNAUTHORIZED.value(), ex.getMessage());
+                                    FilterChain filterChain) throws IOException, ServletException {
+        var result = authServiceClient.tryAuthorize(request);
+        if (!result.isGranted()) {
+            //rejections get the configured error body, like failures further down the security chain
+            if (result.getRejection() instanceof AuthenticationException rejection) {
+                authEntryPoint.commence(request, response, rejection);
+            } else {
+                ErrorResponses.write(response, result.getRejection());
             }
-    }
-
-    private void authorize(HttpServletRequest request) {
-        var authentication = authServiceClient.authorize(request);
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+            return;
+        }
+        var policy = routePolicies.find(request);
+        if (policy != null && !policy.isGranted(result.getAuthentication())) {
+            ErrorResponses.write(response, HttpStatus.FORBIDDEN, ACCESS_DENIED);
+            return;
+        }
+        SecurityContextHolder.getContext().setAuthentication(result.getAuthentication());
+        filterChain.doFilter(request, response);
     }
 }
@@ -0,0 +1,76 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.poc.authlib.common.dto.GenericErrorResponse;
+import com.poc.authlib.common.exception.ForbiddenException;
+import com.poc.authlib.common.exception.PermissionServiceUnavailableException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+
+import java.io.IOException;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * JSON {@link GenericErrorResponse} bodies encoded once per status and message, and written to the
+ * response as bytes. Failures are answered with one fixed message per status: exception messages name
+ * permission service hosts and token parsing details, which stay in the log.
+ */
+public final class ErrorResponses {
+
+    public static final String ACCESS_DENIED = "Access is denied";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Cache<Key, byte[]> BODIES = Caffeine.newBuilder()
+            .maximumSize(1024)
+            .build();
+
+    private ErrorResponses() {
+    }
+
+    public static HttpStatus statusOf(Throwable error) {
+        if (error instanceof AuthenticationException) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+        if (error instanceof ForbiddenException) {
+            return HttpStatus.FORBIDDEN;
+        }
+        if (error instanceof PermissionServiceUnavailableException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    public static byte[] body(HttpStatus status, String message) {
+        return BODIES.get(new Key(status, message), key -> encode(key.status, key.message));
+    }
+
+    public static void write(HttpServletResponse response, Throwable error) throws IOException {
+        var status = statusOf(error);
+        write(response, status, body(status, status == HttpStatus.FORBIDDEN ? ACCESS_DENIED : status.getReasonPhrase()));
+    }
+
+    public static void write(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] encode(HttpStatus status, String message) {
+        try {
+            return MAPPER.writeValueAsBytes(GenericErrorResponse.builder()
+                    .errorCode(status.value())
+                    .errorMessage(message)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode error response", e);
+        }
+    }
+
+    private record Key(HttpStatus status, String message) {
+    }
+}
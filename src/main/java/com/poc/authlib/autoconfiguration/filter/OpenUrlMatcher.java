@@ -0,0 +1,134 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Open URL patterns compiled once at startup, matched case-insensitively with Ant-style semantics:
+ * wildcard-free patterns go to an exact-path set, {@code /prefix/**} patterns to a segment trie,
+ * and only the remaining patterns are evaluated by {@link AntPathMatcher}. Recent results are cached.
+ */
+public final class OpenUrlMatcher {
+
+    private static final String PATH_SEPARATOR = "/";
+    private static final String ANY_SUFFIX = "/**";
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final Set<String> exactPaths = new HashSet<>();
+    private final PrefixNode prefixes = new PrefixNode();
+    private final List<String> patterns;
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+    private final Cache<String, Boolean> recentResults;
+
+    public OpenUrlMatcher(Collection<String> openUrls, int resultCacheSize) {
+        antPathMatcher.setCaseSensitive(false);
+        this.patterns = Optional.ofNullable(openUrls).orElse(List.of()).stream()
+                .map(openUrl -> openUrl.toLowerCase(Locale.ROOT))
+                .filter(openUrl -> !compile(openUrl))
+                .collect(Collectors.toUnmodifiableList());
+        this.recentResults = resultCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(resultCacheSize).build()
+                : null;
+    }
+
+    /**
+     * Matches the decoded path within the application, as Spring MVC dispatches it, so the context path
+     * and encoded characters do not hide an open URL.
+     */
+    public boolean matches(HttpServletRequest request) {
+        return matches(URL_PATH_HELPER.getPathWithinApplication(request));
+    }
+
+    /**
+     * Matches the decoded path within the application, as WebFlux dispatches it.
+     */
+    public boolean matches(PathContainer pathWithinApplication) {
+        return matches(RoutePolicyTable.decodedPath(pathWithinApplication));
+    }
+
+    public boolean matches(String path) {
+        if (recentResults == null) {
+            return doMatch(path);
+        }
+        var cached = recentResults.getIfPresent(path);
+        if (cached != null) {
+            return cached;
+        }
+        var matched = doMatch(path);
+        recentResults.put(path, matched);
+        return matched;
+    }
+
+    private boolean doMatch(String path) {
+        var normalisedPath = path.toLowerCase(Locale.ROOT);
+        return exactPaths.contains(normalisedPath)
+                || prefixes.matches(normalisedPath)
+                || patterns.stream().anyMatch(pattern -> antPathMatcher.match(pattern, normalisedPath));
+    }
+
+    private boolean compile(String openUrl) {
+        if (!antPathMatcher.isPattern(openUrl)) {
+            exactPaths.add(openUrl);
+            return true;
+        }
+        if (openUrl.endsWith(ANY_SUFFIX)) {
+            var prefix = openUrl.substring(0, openUrl.length() - ANY_SUFFIX.length());
+            if (!antPathMatcher.isPattern(prefix)) {
+                prefixes.add(prefix);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class PrefixNode {
+        private final Map<String, PrefixNode> children = new HashMap<>();
+        private boolean terminal;
+
+        void add(String prefix) {
+            var node = this;
+            for (var segment : prefix.split(PATH_SEPARATOR)) {
+                if (!segment.isEmpty()) {
+                    node = node.children.computeIfAbsent(segment, s -> new PrefixNode());
+                }
+            }
+            node.terminal = true;
+        }
+
+        boolean matches(String path) {
+            var node = this;
+            var start = 0;
+            while (!node.terminal) {
+                while (start < path.length() && path.charAt(start) == '/') {
+                    start++;
+                }
+                if (start >= path.length()) {
+                    return false;
+                }
+                var end = path.indexOf('/', start);
+                end = end < 0 ? path.length() : end;
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    return false;
+                }
+                start = end;
+            }
+            return true;
+        }
+    }
+}
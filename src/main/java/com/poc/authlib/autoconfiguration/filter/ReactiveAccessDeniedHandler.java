@@ -0,0 +1,25 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Answers denied WebFlux requests with the same pre-encoded body as the servlet route policy check.
+ */
+public final class ReactiveAccessDeniedHandler implements ServerAccessDeniedHandler {
+
+    private static final byte[] ACCESS_DENIED = ErrorResponses.body(HttpStatus.FORBIDDEN, ErrorResponses.ACCESS_DENIED);
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, AccessDeniedException denied) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.FORBIDDEN);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(ACCESS_DENIED.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(ACCESS_DENIED)));
+    }
+}
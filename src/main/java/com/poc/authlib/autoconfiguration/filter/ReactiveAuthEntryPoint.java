@@ -0,0 +1,29 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import com.poc.authlib.properties.AuthServiceProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+public final class ReactiveAuthEntryPoint implements ServerAuthenticationEntryPoint {
+
+    private final byte[] errorBody;
+
+    public ReactiveAuthEntryPoint(AuthServiceProperties authServiceProperties) {
+        this.errorBody = authServiceProperties.getErrorMessage().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException e) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(errorBody.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(errorBody)));
+    }
+}
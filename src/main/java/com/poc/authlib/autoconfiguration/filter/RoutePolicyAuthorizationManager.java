@@ -0,0 +1,30 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of the route policy check in {@link AuthSecurityFilter}: authenticated, and granted
+ * by the first {@link RoutePolicyTable} rule matching the decoded path within the application.
+ */
+@RequiredArgsConstructor
+public final class RoutePolicyAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private final RoutePolicyTable routePolicies;
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        var request = context.getExchange().getRequest();
+        var policy = routePolicies.find(request.getMethodValue(), request.getPath().pathWithinApplication());
+        return authentication
+                .map(auth -> auth.isAuthenticated() && (policy == null || policy.isGranted(auth)) ? GRANTED : DENIED)
+                .defaultIfEmpty(DENIED);
+    }
+}
@@ -0,0 +1,246 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.autoconfiguration.authority.PermissionCheck;
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import com.poc.authlib.properties.OpenUrlProperties;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Route policies compiled once at startup into a segment trie: literal segments, single-segment
+ * wildcards ({@code *}, unconstrained {@code {var}}) and trailing {@code /**}, matching exactly what
+ * {@link AntPathMatcher} would. Other patterns, including regex-constrained variables such as
+ * {@code {id:\d+}}, are evaluated by {@link AntPathMatcher}. As in Spring Security, the first configured
+ * rule matching the request wins.
+ */
+public final class RoutePolicyTable {
+
+    public static final RoutePolicyTable NONE = new RoutePolicyTable(List.of(), new AuthorityRegistry());
+
+    private static final String ANY_SUFFIX = "/**";
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final Node root = new Node();
+    private final List<Policy> patternPolicies = new ArrayList<>();
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+    private final boolean empty;
+
+    public RoutePolicyTable(List<OpenUrlProperties.RoutePolicy> policies, AuthorityRegistry authorityRegistry) {
+        antPathMatcher.setCaseSensitive(false);
+        for (var order = 0; order < policies.size(); order++) {
+            var properties = policies.get(order);
+            var pattern = properties.getPath().toLowerCase(Locale.ROOT);
+            var policy = new Policy(order, properties.getMethod() == null ? null : properties.getMethod().name(),
+                    pattern, properties.getPermissions().isEmpty()
+                            ? null
+                            : new PermissionCheck(authorityRegistry, properties.getPermissions().toArray(String[]::new)),
+                    Set.copyOf(properties.getRoles()));
+            if (!compile(pattern, policy)) {
+                patternPolicies.add(policy);
+            }
+        }
+        this.empty = policies.isEmpty();
+    }
+
+    /**
+     * First policy matching the request, by the decoded path within the application, as Spring MVC dispatches it.
+     */
+    public Policy find(HttpServletRequest request) {
+        return empty ? null : find(request.getMethod(), URL_PATH_HELPER.getPathWithinApplication(request));
+    }
+
+    /**
+     * First policy matching the request, by the decoded path within the application, as WebFlux dispatches it.
+     */
+    public Policy find(String method, PathContainer pathWithinApplication) {
+        return empty ? null : find(method, decodedPath(pathWithinApplication));
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Decoded path without matrix variables, as WebFlux matches it against handler patterns.
+     */
+    static String decodedPath(PathContainer pathWithinApplication) {
+        var path = new StringBuilder();
+        for (var element : pathWithinApplication.elements()) {
+            path.append(element instanceof PathContainer.PathSegment segment ? segment.valueToMatch() : element.value());
+        }
+        return path.toString();
+    }
+
+    /**
+     * First policy matching a decoded path, null when no rule applies.
+     */
+    public Policy find(String method, String path) {
+        if (empty) {
+            return null;
+        }
+        var normalisedPath = path.toLowerCase(Locale.ROOT);
+        var best = new Policy[1];
+        root.match(normalisedPath, 0, method, best);
+        for (var policy : patternPolicies) {
+            if (best[0] != null && best[0].order < policy.order) {
+                break;
+            }
+            if (policy.appliesTo(method) && antPathMatcher.match(policy.pattern, normalisedPath)) {
+                best[0] = policy;
+                break;
+            }
+        }
+        return best[0];
+    }
+
+    private boolean compile(String pattern, Policy policy) {
+        var anyRest = pattern.endsWith(ANY_SUFFIX);
+        //trailing separators are significant to AntPathMatcher, leading ones are required
+        if (!pattern.startsWith(PATH_SEPARATOR) || !anyRest && pattern.endsWith(PATH_SEPARATOR)) {
+            return false;
+        }
+        var segments = (anyRest ? pattern.substring(0, pattern.length() - ANY_SUFFIX.length()) : pattern)
+                .split(PATH_SEPARATOR);
+        for (var segment : segments) {
+            if (!isWildcard(segment) && antPathMatcher.isPattern(segment)) {
+                return false;
+            }
+        }
+        var node = root;
+        Node parent = null;
+        String last = null;
+        for (var segment : segments) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            parent = node;
+            last = segment;
+            node = isWildcard(segment)
+                    ? node.wildcard()
+                    : node.literals.computeIfAbsent(segment, s -> new Node());
+        }
+        if (anyRest) {
+            node.anyRest.add(policy);
+        } else {
+            node.terminal.add(policy);
+            if ("*".equals(last)) {
+                //AntPathMatcher lets a final * match the empty segment after a trailing separator
+                parent.trailingSeparator.add(policy);
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWildcard(String segment) {
+        return "*".equals(segment)
+                || segment.length() > 2 && segment.charAt(0) == '{' && segment.lastIndexOf('{') == 0
+                && segment.indexOf('}') == segment.length() - 1 && segment.indexOf(':') < 0;
+    }
+
+    public static final class Policy {
+        private final int order;
+        private final String method;
+        private final String pattern;
+        private final PermissionCheck permissionCheck;
+        private final Set<String> roles;
+
+        private Policy(int order, String method, String pattern, PermissionCheck permissionCheck, Set<String> roles) {
+            this.order = order;
+            this.method = method;
+            this.pattern = pattern;
+            this.permissionCheck = permissionCheck;
+            this.roles = roles;
+        }
+
+        public boolean isGranted(Authentication authentication) {
+            if (permissionCheck != null && !permissionCheck.isGranted(authentication)) {
+                return false;
+            }
+            return roles.isEmpty() || hasAnyRole(authentication);
+        }
+
+        private boolean hasAnyRole(Authentication authentication) {
+            if (authentication == null || !(authentication.getPrincipal() instanceof AuthSystemUserDTO user)
+                    || user.getRoles() == null) {
+                return false;
+            }
+            for (var role : user.getRoles()) {
+                if (roles.contains(role.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean appliesTo(String requestMethod) {
+            return method == null || method.equals(requestMethod);
+        }
+
+        int getOrder() {
+            return order;
+        }
+
+        private boolean precedes(Policy other) {
+            return other == null || order < other.order;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private final List<Policy> terminal = new ArrayList<>();
+        private final List<Policy> anyRest = new ArrayList<>();
+        private final List<Policy> trailingSeparator = new ArrayList<>();
+        private Node wildcard;
+
+        Node wildcard() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+
+        void match(String path, int start, String method, Policy[] best) {
+            consider(anyRest, method, best);
+            while (start < path.length() && path.charAt(start) == '/') {
+                start++;
+            }
+            if (start >= path.length()) {
+                consider(path.endsWith(PATH_SEPARATOR) ? trailingSeparator : terminal, method, best);
+                return;
+            }
+            var end = path.indexOf('/', start);
+            end = end < 0 ? path.length() : end;
+            if (!literals.isEmpty()) {
+                var literal = literals.get(path.substring(start, end));
+                if (literal != null) {
+                    literal.match(path, end, method, best);
+                }
+            }
+            if (wildcard != null) {
+                wildcard.match(path, end, method, best);
+            }
+        }
+
+        private static void consider(List<Policy> policies, String method, Policy[] best) {
+            for (var policy : policies) {
+                if (policy.precedes(best[0]) && policy.appliesTo(method)) {
+                    best[0] = policy;
+                    return;
+                }
+            }
+        }
+    }
+}
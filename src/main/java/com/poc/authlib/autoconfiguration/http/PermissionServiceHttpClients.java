@@ -0,0 +1,61 @@
+package com.poc.authlib.autoconfiguration.http;
+
+import com.poc.authlib.properties.AuthServiceProperties;
+import io.netty.channel.ChannelOption;
+import org.springframework.http.codec.ClientCodecConfigurer;
+import org.springframework.util.ClassUtils;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Builds the Reactor Netty client used for permission service calls from {@link AuthServiceProperties}.
+ */
+public final class PermissionServiceHttpClients {
+
+    public static final String CONNECTION_PROVIDER_NAME = "auth-permission-service";
+
+    private static final boolean MICROMETER_PRESENT = ClassUtils.isPresent(
+            "io.micrometer.core.instrument.Metrics", PermissionServiceHttpClients.class.getClassLoader());
+
+    private PermissionServiceHttpClients() {
+    }
+
+    public static ConnectionProvider connectionProvider(AuthServiceProperties authServiceProperties) {
+        var pool = authServiceProperties.getHttp().getPool();
+        return ConnectionProvider.builder(CONNECTION_PROVIDER_NAME)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                //pool gauges are published to the Micrometer global registry
+                .metrics(pool.isMetrics() && MICROMETER_PRESENT)
+                .build();
+    }
+
+    /**
+     * Registers the binary principal decoder; JSON decoding stays available as the fallback.
+     */
+    public static void registerCodecs(ClientCodecConfigurer codecs) {
+        codecs.customCodecs().register(new PrincipalBinaryDecoder());
+    }
+
+    public static HttpClient httpClient(AuthServiceProperties authServiceProperties,
+                                        ConnectionProvider connectionProvider) {
+        var http = authServiceProperties.getHttp();
+        var httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(http.getConnectTimeout().toMillis()))
+                .responseTimeout(Duration.ofMillis(authServiceProperties.getTimeout()))
+                .compress(http.isCompression());
+        if (!http.isHttp2()) {
+            return httpClient;
+        }
+        return authServiceProperties.getEndpoint().startsWith("https:")
+                ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure()
+                : httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
+}
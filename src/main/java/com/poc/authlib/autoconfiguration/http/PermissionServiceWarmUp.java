@@ -0,0 +1,72 @@
+package com.poc.authlib.autoconfiguration.http;
+
+import com.poc.authlib.autoconfiguration.invalidation.PrincipalInvalidator;
+import com.poc.authlib.autoconfiguration.jwt.JwksKeySource;
+import com.poc.authlib.properties.AuthServiceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.function.Supplier;
+
+/**
+ * Starts background work once the application is ready rather than during context refresh:
+ * invalidation streams, and with {@code auth.service.startup.warm-up} the Netty event loops, the
+ * connection pool, JWKS keys and optionally one pooled connection. Without warm-up these are
+ * created by the first protected request.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PermissionServiceWarmUp implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final AuthServiceProperties authServiceProperties;
+    private final Supplier<HttpClient> httpClient;
+    private final WebClient webClient;
+    private final ObjectProvider<JwksKeySource> jwksKeySource;
+    private final PrincipalInvalidator principalInvalidator;
+    private final Sinks.Empty<Void> warmedUp = Sinks.empty();
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        principalInvalidator.start();
+        var startup = authServiceProperties.getStartup();
+        if (!startup.isWarmUp()) {
+            warmedUp.tryEmitEmpty();
+            return;
+        }
+        var startTime = System.nanoTime();
+        Mono.defer(() -> httpClient.get().warmup())
+                .then(Mono.fromRunnable(() -> jwksKeySource.ifAvailable(JwksKeySource::start)))
+                .then(Mono.defer(() -> startup.isPrewarmConnection() ? openConnection() : Mono.empty()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> warmedUp.tryEmitEmpty())
+                .subscribe(null,
+                        e -> log.warn("Permission service warm-up failed, message: {}", e.getMessage()),
+                        () -> log.debug("Permission service warmed up in {} ms", (System.nanoTime() - startTime) / 1_000_000));
+    }
+
+    /**
+     * Completes once the background warm-up finished or failed, right after readiness when it is disabled.
+     */
+    public Mono<Void> warmedUp() {
+        return warmedUp.asMono();
+    }
+
+    private Mono<Void> openConnection() {
+        //any response leaves a pooled connection behind
+        return webClient.head()
+                .uri(authServiceProperties.getGetUserPath())
+                .exchangeToMono(response -> response.releaseBody())
+                .onErrorResume(e -> {
+                    log.debug("Permission service connection pre-warm failed, message: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
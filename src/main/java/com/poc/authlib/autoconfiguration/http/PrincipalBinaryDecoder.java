@@ -0,0 +1,43 @@
+package com.poc.authlib.autoconfiguration.http;
+
+import com.poc.authlib.autoconfiguration.cache.PrincipalCodec;
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDataBufferDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+
+import java.util.Map;
+
+/**
+ * Decodes permission service responses in the {@link PrincipalCodec} binary format straight from the
+ * response buffer, without an intermediate JSON tree or token stream.
+ */
+public class PrincipalBinaryDecoder extends AbstractDataBufferDecoder<AuthSystemUserDTO> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/vnd.authlib.principal+binary");
+
+    public PrincipalBinaryDecoder() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        return AuthSystemUserDTO.class.equals(elementType.toClass()) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public AuthSystemUserDTO decode(DataBuffer buffer, ResolvableType targetType, MimeType mimeType,
+                                    Map<String, Object> hints) {
+        try {
+            return PrincipalCodec.decodeUser(buffer.asByteBuffer());
+        } catch (IllegalArgumentException e) {
+            throw new DecodingException("Cannot decode binary principal: " + e.getMessage(), e);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
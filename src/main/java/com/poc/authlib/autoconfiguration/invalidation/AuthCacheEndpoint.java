@@ -0,0 +1,41 @@
+package com.poc.authlib.autoconfiguration.invalidation;
+
+import com.poc.authlib.autoconfiguration.AuthServiceClient;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCache;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Manual eviction of cached principals, {@code DELETE /actuator/authcache?tokenHash=..|userId=..};
+ * without parameters the whole cache is cleared.
+ */
+@Endpoint(id = "authcache")
+@RequiredArgsConstructor
+public class AuthCacheEndpoint {
+
+    private final PrincipalCache principalCache;
+    private final AuthServiceClient authServiceClient;
+
+    @ReadOperation
+    public PrincipalCacheStats stats() {
+        return principalCache.stats();
+    }
+
+    @DeleteOperation
+    public void evict(@Nullable String tokenHash, @Nullable String userId) {
+        if (tokenHash == null && userId == null) {
+            authServiceClient.invalidateAll();
+            return;
+        }
+        if (tokenHash != null) {
+            authServiceClient.invalidateToken(tokenHash);
+        }
+        if (userId != null) {
+            authServiceClient.invalidateUser(userId);
+        }
+    }
+}
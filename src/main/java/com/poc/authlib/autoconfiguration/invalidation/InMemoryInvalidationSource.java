@@ -0,0 +1,27 @@
+package com.poc.authlib.autoconfiguration.invalidation;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * In-process source, for tests and for applications that receive revocations through their own channel.
+ */
+public class InMemoryInvalidationSource implements InvalidationSource {
+
+    private final Sinks.Many<InvalidationEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    /**
+     * Best effort: dropped when nobody is subscribed yet, retried only while another thread is emitting.
+     */
+    public void publish(InvalidationEvent event) {
+        var result = sink.tryEmitNext(event);
+        while (result == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+            result = sink.tryEmitNext(event);
+        }
+    }
+
+    @Override
+    public Flux<InvalidationEvent> events() {
+        return sink.asFlux();
+    }
+}
@@ -0,0 +1,33 @@
+package com.poc.authlib.autoconfiguration.invalidation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Revocation pushed by the permission service: a token hash, every token of a user id, or the whole cache.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidationEvent {
+
+    public enum Type {
+        TOKEN, USER, ALL
+    }
+
+    private Type type;
+    private String value;
+
+    public static InvalidationEvent token(String tokenHash) {
+        return new InvalidationEvent(Type.TOKEN, tokenHash);
+    }
+
+    public static InvalidationEvent user(String userId) {
+        return new InvalidationEvent(Type.USER, userId);
+    }
+
+    public static InvalidationEvent all() {
+        return new InvalidationEvent(Type.ALL, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.poc.authlib.autoconfiguration.invalidation;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Stream of revocations applied to locally cached principals on every node.
+ * Register a bean of this type to plug in another transport (message broker, pub/sub).
+ */
+public interface InvalidationSource {
+
+    Flux<InvalidationEvent> events();
+}
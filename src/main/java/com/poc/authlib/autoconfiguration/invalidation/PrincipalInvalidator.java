@@ -0,0 +1,65 @@
+package com.poc.authlib.autoconfiguration.invalidation;
+
+import com.poc.authlib.autoconfiguration.AuthServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies revocations from all registered sources to the principal caches of the client.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PrincipalInvalidator implements Closeable {
+
+    private final List<InvalidationSource> sources;
+    private final AuthServiceClient authServiceClient;
+    private volatile Disposable subscription;
+
+    public PrincipalInvalidator start() {
+        if (!sources.isEmpty()) {
+            subscription = Flux.merge(sources.stream().map(InvalidationSource::events).toList())
+                    .subscribe(this::applySafely,
+                            e -> log.error("Invalidation stream terminated, message: {}", e.getMessage()));
+        }
+        return this;
+    }
+
+    public void apply(InvalidationEvent event) {
+        if (!isValid(event)) {
+            throw new IllegalArgumentException("Invalid principal invalidation: " + event);
+        }
+        log.debug("Applying principal invalidation: {}", event.getType());
+        switch (event.getType()) {
+            case TOKEN -> authServiceClient.invalidateToken(event.getValue());
+            case USER -> authServiceClient.invalidateUser(event.getValue());
+            case ALL -> authServiceClient.invalidateAll();
+        }
+    }
+
+    /**
+     * A failure in the subscriber would cancel the merged stream for good, so every event fails on its own.
+     */
+    private void applySafely(InvalidationEvent event) {
+        try {
+            apply(event);
+        } catch (RuntimeException e) {
+            log.warn("Skipping principal invalidation {}, message: {}", event, e.getMessage());
+        }
+    }
+
+    private static boolean isValid(InvalidationEvent event) {
+        return event != null && event.getType() != null
+                && (event.getType() == InvalidationEvent.Type.ALL || event.getValue() != null);
+    }
+
+    @Override
+    public void close() {
+        Optional.ofNullable(subscription).ifPresent(Disposable::dispose);
+    }
+}
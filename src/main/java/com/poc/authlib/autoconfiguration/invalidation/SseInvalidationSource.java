@@ -0,0 +1,60 @@
+package com.poc.authlib.autoconfiguration.invalidation;
+
+import com.poc.authlib.properties.AuthServiceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.util.retry.Retry;
+
+import java.util.Objects;
+
+/**
+ * Server-sent event stream of revocations from the permission service, reconnected whenever it ends or fails.
+ * Revocations sent while disconnected are lost, so every (re)connect first flushes the caches with an
+ * {@link InvalidationEvent#all()}.
+ */
+@Slf4j
+public class SseInvalidationSource implements InvalidationSource {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<InvalidationEvent>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final AuthServiceProperties.Invalidation properties;
+    private final WebClient webClient;
+
+    public SseInvalidationSource(AuthServiceProperties.Invalidation properties, WebClient webClient) {
+        Assert.hasText(properties.getPath(), "auth.service.invalidation.path must be set for SSE invalidation");
+        this.properties = properties;
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Flux<InvalidationEvent> events() {
+        return Flux.defer(() -> webClient.get()
+                        .uri(properties.getPath())
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        // the shared client's response timeout would cut off a quiet stream
+                        .httpRequest(request -> request.<HttpClientRequest>getNativeRequest().responseTimeout(null))
+                        .exchangeToFlux(this::connected))
+                .map(ServerSentEvent::data)
+                .filter(Objects::nonNull)
+                .doOnError(e -> log.warn("Invalidation stream failed, reconnecting, message: {}", e.getMessage()))
+                .repeatWhen(completed -> completed.delayElements(properties.getReconnectDelay()))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, properties.getReconnectDelay()));
+    }
+
+    private Flux<ServerSentEvent<InvalidationEvent>> connected(ClientResponse response) {
+        if (response.statusCode().isError()) {
+            return response.createException().flatMapMany(Flux::error);
+        }
+        return Flux.just(ServerSentEvent.builder(InvalidationEvent.all()).build())
+                .concatWith(response.bodyToFlux(EVENT_TYPE));
+    }
+}
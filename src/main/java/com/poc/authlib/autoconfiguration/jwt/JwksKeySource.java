@@ -0,0 +1,187 @@
+package com.poc.authlib.autoconfiguration.jwt;
+
+import com.nimbusds.jose.Algorithm;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.poc.authlib.common.exception.UnauthorisedAccessException;
+import com.poc.authlib.properties.AuthServiceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps verifiers for the keys of a JWKS document, fetched over HTTP(S) with the permission service
+ * {@link WebClient} or read from a {@code file:}/{@code classpath:} resource, and refreshed in the background.
+ * Only RSA and EC signing keys are used: the document travels over the permission service channel, so a
+ * symmetric key in it would let anyone able to read it sign tokens.
+ */
+@Slf4j
+public class JwksKeySource implements Closeable {
+
+    private final AuthServiceProperties.Jwt jwtProperties;
+    private final WebClient webClient;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong lastRefreshAttempt = new AtomicLong();
+    private volatile Map<String, VerificationKey> keys = Map.of();
+    private volatile Disposable scheduledRefresh;
+
+    public JwksKeySource(AuthServiceProperties.Jwt jwtProperties, WebClient webClient) {
+        Assert.hasText(jwtProperties.getJwksUri(), "auth.service.jwt.jwks-uri must be set when JWT verification is enabled");
+        this.jwtProperties = jwtProperties;
+        this.webClient = webClient;
+    }
+
+    /**
+     * Schedules the periodic refresh, starting with an immediate load; later calls have no effect.
+     * Called by the warm-up, or by the first key lookup.
+     */
+    public JwksKeySource start() {
+        if (!started.compareAndSet(false, true)) {
+            return this;
+        }
+        scheduledRefresh = Flux.interval(Duration.ZERO, jwtProperties.getRefreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh())
+                .subscribe();
+        return this;
+    }
+
+    /**
+     * Verifier of the key named by the header, empty when the key id is unknown.
+     *
+     * @throws UnauthorisedAccessException when the header's algorithm is not one the key may be used with
+     */
+    public Optional<JWSVerifier> getVerifier(JWSHeader header) {
+        if (!started.get()) {
+            start();
+        }
+        var key = header.getKeyID() != null ? keys.get(header.getKeyID()) : null;
+        if (key == null) {
+            refreshOnUnknownKey();
+            return Optional.empty();
+        }
+        if (!key.accepts(header.getAlgorithm())) {
+            throw new UnauthorisedAccessException("Token algorithm does not match its signing key");
+        }
+        return Optional.of(key.verifier());
+    }
+
+    public Mono<Void> refresh() {
+        return Mono.defer(() -> {
+            if (!refreshing.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            lastRefreshAttempt.set(System.nanoTime());
+            return fetchJwks()
+                    .map(this::toKeys)
+                    .doOnNext(loaded -> {
+                        keys = loaded;
+                        log.debug("Loaded {} signing keys from JWKS", loaded.size());
+                    })
+                    .doOnError(e -> log.warn("Cannot refresh JWKS, message: {}", e.getMessage()))
+                    .onErrorResume(e -> Mono.empty())
+                    .doFinally(signal -> refreshing.set(false))
+                    .then();
+        });
+    }
+
+    @Override
+    public void close() {
+        Optional.ofNullable(scheduledRefresh).ifPresent(Disposable::dispose);
+    }
+
+    private void refreshOnUnknownKey() {
+        var sinceLastAttempt = System.nanoTime() - lastRefreshAttempt.get();
+        if (sinceLastAttempt >= jwtProperties.getMinRefreshInterval().toNanos()) {
+            refresh().subscribe();
+        }
+    }
+
+    private Mono<String> fetchJwks() {
+        var jwksUri = jwtProperties.getJwksUri();
+        if (!jwksUri.startsWith("file:") && !jwksUri.startsWith("classpath:")) {
+            return webClient.get()
+                    .uri(jwksUri)
+                    .retrieve()
+                    .bodyToMono(String.class);
+        }
+        return Mono.fromCallable(() -> {
+                    try (var inputStream = new DefaultResourceLoader().getResource(jwksUri).getInputStream()) {
+                        return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Map<String, VerificationKey> toKeys(String jwks) {
+        try {
+            var loaded = new HashMap<String, VerificationKey>();
+            for (var jwk : JWKSet.parse(jwks).getKeys()) {
+                if (jwk.getKeyID() == null) {
+                    log.warn("Skipping JWKS key without key id");
+                    continue;
+                }
+                if (jwk.getKeyUse() != null && !KeyUse.SIGNATURE.equals(jwk.getKeyUse())) {
+                    log.warn("Skipping JWKS key {} not meant for signatures", jwk.getKeyID());
+                    continue;
+                }
+                var verifier = toVerifier(jwk);
+                if (verifier == null) {
+                    log.warn("Skipping JWKS key {} of unsupported type {}", jwk.getKeyID(), jwk.getKeyType());
+                    continue;
+                }
+                loaded.put(jwk.getKeyID(), new VerificationKey(verifier, jwk.getAlgorithm()));
+            }
+            return Map.copyOf(loaded);
+        } catch (ParseException | JOSEException e) {
+            throw new IllegalStateException("Invalid JWKS document: " + e.getMessage(), e);
+        }
+    }
+
+    private static JWSVerifier toVerifier(JWK jwk) throws JOSEException {
+        if (jwk instanceof RSAKey rsaKey) {
+            return new RSASSAVerifier(rsaKey);
+        }
+        if (jwk instanceof ECKey ecKey) {
+            return new ECDSAVerifier(ecKey);
+        }
+        return null;
+    }
+
+    /**
+     * @param algorithm the algorithm the key is restricted to, null when the JWK does not name one
+     */
+    private record VerificationKey(JWSVerifier verifier, Algorithm algorithm) {
+
+        boolean accepts(JWSAlgorithm tokenAlgorithm) {
+            return verifier.supportedJWSAlgorithms().contains(tokenAlgorithm)
+                    && (algorithm == null || algorithm.equals(tokenAlgorithm));
+        }
+    }
+}
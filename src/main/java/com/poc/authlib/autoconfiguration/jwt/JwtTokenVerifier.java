@@ -0,0 +1,129 @@
+package com.poc.authlib.autoconfiguration.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import com.poc.authlib.common.dto.RoleDTO;
+import com.poc.authlib.common.exception.UnauthorisedAccessException;
+import com.poc.authlib.properties.AuthServiceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Verifies signed JWTs against the cached JWKS and maps their claims into {@link AuthSystemUserDTO}.
+ * Opaque tokens and tokens signed with an unknown key id are left to the permission service.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JwtTokenVerifier implements TokenVerifier {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ROLE_NAME = "name";
+    private static final String ROLE_PERMISSIONS = "permissions";
+
+    private final AuthServiceProperties.Jwt jwtProperties;
+    private final JwksKeySource keySource;
+
+    @Override
+    public Optional<VerifiedToken> verify(String authToken) {
+        return parse(authToken)
+                .flatMap(jwt -> keySource.getVerifier(jwt.getHeader())
+                        .map(verifier -> {
+                            verifySignature(jwt, verifier);
+                            var claims = readClaims(jwt);
+                            return new VerifiedToken(toUser(claims), claims.getExpirationTime().toInstant());
+                        }));
+    }
+
+    private Optional<SignedJWT> parse(String authToken) {
+        var token = authToken.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())
+                ? authToken.substring(BEARER_PREFIX.length())
+                : authToken;
+        if (token.chars().filter(c -> c == '.').count() != 2) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(SignedJWT.parse(token));
+        } catch (ParseException e) {
+            log.debug("Token is not a signed JWT, falling back to permission service: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void verifySignature(SignedJWT jwt, JWSVerifier verifier) {
+        try {
+            if (!jwt.verify(verifier)) {
+                throw new UnauthorisedAccessException("Invalid token signature");
+            }
+        } catch (JOSEException e) {
+            throw new UnauthorisedAccessException("Cannot verify token signature: " + e.getMessage());
+        }
+    }
+
+    private JWTClaimsSet readClaims(SignedJWT jwt) {
+        try {
+            var claims = jwt.getJWTClaimsSet();
+            var now = Instant.now();
+            var clockSkew = jwtProperties.getClockSkew();
+            if (claims.getExpirationTime() == null
+                    || now.minus(clockSkew).isAfter(claims.getExpirationTime().toInstant())) {
+                throw new UnauthorisedAccessException("Token is expired");
+            }
+            if (Optional.ofNullable(claims.getNotBeforeTime()).map(Date::toInstant)
+                    .filter(notBefore -> now.plus(clockSkew).isBefore(notBefore))
+                    .isPresent()) {
+                throw new UnauthorisedAccessException("Token is not valid yet");
+            }
+            if (jwtProperties.getIssuer() != null && !jwtProperties.getIssuer().equals(claims.getIssuer())) {
+                throw new UnauthorisedAccessException("Unexpected token issuer");
+            }
+            return claims;
+        } catch (ParseException e) {
+            throw new UnauthorisedAccessException("Invalid token claims: " + e.getMessage());
+        }
+    }
+
+    private AuthSystemUserDTO toUser(JWTClaimsSet claims) {
+        var userId = claims.getClaim(jwtProperties.getUserIdClaim());
+        if (userId == null) {
+            throw new UnauthorisedAccessException("Token has no user id claim");
+        }
+        return AuthSystemUserDTO.builder()
+                .userId(userId.toString())
+                .roles(toRoles(claims.getClaim(jwtProperties.getRolesClaim())))
+                .build();
+    }
+
+    private List<RoleDTO> toRoles(Object rolesClaim) {
+        if (!(rolesClaim instanceof List<?> roles)) {
+            return List.of();
+        }
+        return roles.stream()
+                .filter(Map.class::isInstance)
+                .map(Map.class::cast)
+                .map(role -> RoleDTO.builder()
+                        .name(Objects.toString(role.get(ROLE_NAME), null))
+                        .permissions(toPermissions(role.get(ROLE_PERMISSIONS)))
+                        .build())
+                .toList();
+    }
+
+    private List<String> toPermissions(Object permissionsClaim) {
+        if (!(permissionsClaim instanceof List<?> permissions)) {
+            return List.of();
+        }
+        return permissions.stream()
+                .map(Object::toString)
+                .toList();
+    }
+}
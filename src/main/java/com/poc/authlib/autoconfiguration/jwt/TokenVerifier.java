@@ -0,0 +1,15 @@
+package com.poc.authlib.autoconfiguration.jwt;
+
+import java.util.Optional;
+
+/**
+ * Local token verification. An empty result means the token cannot be verified locally
+ * and has to be resolved by the permission service.
+ */
+@FunctionalInterface
+public interface TokenVerifier {
+
+    TokenVerifier NONE = authToken -> Optional.empty();
+
+    Optional<VerifiedToken> verify(String authToken);
+}
@@ -0,0 +1,15 @@
+package com.poc.authlib.autoconfiguration.jwt;
+
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * User of a locally verified token and the instant the token stops being valid.
+ */
+@Value
+public class VerifiedToken {
+    AuthSystemUserDTO user;
+    Instant expiresAt;
+}
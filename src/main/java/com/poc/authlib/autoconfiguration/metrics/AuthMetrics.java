@@ -0,0 +1,24 @@
+package com.poc.authlib.autoconfiguration.metrics;
+
+import com.poc.authlib.autoconfiguration.validation.RejectionReason;
+
+/**
+ * Instrumentation hooks of the authorization path. {@link #NONE} is used when Micrometer is not available.
+ */
+public interface AuthMetrics {
+
+    AuthMetrics NONE = new AuthMetrics() {
+    };
+
+    default void recordPermissionServiceCall(long durationNanos, CallOutcome outcome) {
+    }
+
+    default void recordOpenUrlBypass() {
+    }
+
+    default void recordCacheRefresh(RefreshOutcome outcome) {
+    }
+
+    default void recordRejection(RejectionReason reason) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.poc.authlib.autoconfiguration.metrics;
+
+import com.poc.authlib.autoconfiguration.AuthServiceClient;
+import com.poc.authlib.autoconfiguration.cache.PrincipalCache;
+import com.poc.authlib.autoconfiguration.resilience.PermissionServiceResilience;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exposes principal cache, request coalescing, resilience and load balancing statistics.
+ */
+@RequiredArgsConstructor
+public class AuthServiceMeterBinder implements MeterBinder {
+
+    private final PrincipalCache principalCache;
+    private final AuthServiceClient authServiceClient;
+    private final PermissionServiceResilience resilience;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.cache.size", principalCache, cache -> cache.stats().getSize())
+                .description("Cached principals")
+                .register(registry);
+        FunctionCounter.builder("auth.cache.requests", principalCache, cache -> cache.stats().getHitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.cache.requests", principalCache, cache -> cache.stats().getMissCount())
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("auth.cache.evictions", principalCache, cache -> cache.stats().getEvictionCount())
+                .register(registry);
+        var refreshAhead = authServiceClient.getRefreshAhead();
+        Gauge.builder("auth.cache.refresh.in-flight", refreshAhead, refresher -> refresher.getInFlight())
+                .register(registry);
+        FunctionCounter.builder("auth.cache.refresh.rejected", refreshAhead, refresher -> refresher.getRejectedCount())
+                .register(registry);
+
+        var requestCoalescer = authServiceClient.getRequestCoalescer();
+        FunctionCounter.builder("auth.coalescing.requests", requestCoalescer, coalescer -> coalescer.getExecutedCount())
+                .tag("result", "executed")
+                .register(registry);
+        FunctionCounter.builder("auth.coalescing.requests", requestCoalescer, coalescer -> coalescer.getCoalescedCount())
+                .tag("result", "coalesced")
+                .register(registry);
+        Gauge.builder("auth.coalescing.in-flight", requestCoalescer, coalescer -> coalescer.getInFlightCount())
+                .register(registry);
+
+        var circuitBreaker = resilience.getCircuitBreaker();
+        Gauge.builder("auth.circuit-breaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 - closed, 1 - open, 2 - half open")
+                .register(registry);
+        FunctionCounter.builder("auth.circuit-breaker.not-permitted", circuitBreaker,
+                        breaker -> breaker.getNotPermittedCount())
+                .register(registry);
+        var bulkhead = resilience.getBulkhead();
+        Gauge.builder("auth.bulkhead.in-flight", bulkhead, limiter -> limiter.getInFlight())
+                .register(registry);
+        FunctionCounter.builder("auth.bulkhead.rejected", bulkhead, limiter -> limiter.getRejectedCount())
+                .register(registry);
+
+        var balancer = authServiceClient.getBalancer();
+        FunctionCounter.builder("auth.permission-service.hedged", balancer, hedger -> hedger.getHedgedCalls())
+                .description("User lookups also sent to a second replica")
+                .register(registry);
+        for (var endpoint : balancer.getEndpoints()) {
+            Gauge.builder("auth.permission-service.outstanding", endpoint, replica -> replica.getOutstanding())
+                    .tag("endpoint", endpoint.getBaseUrl())
+                    .register(registry);
+            Gauge.builder("auth.permission-service.healthy", endpoint,
+                            replica -> replica.isHealthy(System.nanoTime()) ? 1 : 0)
+                    .tag("endpoint", endpoint.getBaseUrl())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.poc.authlib.autoconfiguration.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import static org.springframework.web.reactive.function.client.WebClientResponseException.BadRequest;
+import static org.springframework.web.reactive.function.client.WebClientResponseException.Forbidden;
+import static org.springframework.web.reactive.function.client.WebClientResponseException.Unauthorized;
+
+@RequiredArgsConstructor
+public enum CallOutcome {
+    SUCCESS("success"),
+    BAD_REQUEST("bad_request"),
+    UNAUTHORIZED("unauthorized"),
+    FORBIDDEN("forbidden"),
+    ERROR("error");
+
+    @Getter
+    private final String tagValue;
+
+    public static CallOutcome of(Throwable error) {
+        if (error instanceof BadRequest) {
+            return BAD_REQUEST;
+        }
+        if (error instanceof Unauthorized) {
+            return UNAUTHORIZED;
+        }
+        if (error instanceof Forbidden) {
+            return FORBIDDEN;
+        }
+        return ERROR;
+    }
+}
@@ -0,0 +1,63 @@
+package com.poc.authlib.autoconfiguration.metrics;
+
+import com.poc.authlib.autoconfiguration.validation.RejectionReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class MicrometerAuthMetrics implements AuthMetrics {
+
+    private final Map<CallOutcome, Timer> callTimers = new EnumMap<>(CallOutcome.class);
+    private final Counter openUrlBypassCounter;
+    private final Map<RefreshOutcome, Counter> refreshCounters = new EnumMap<>(RefreshOutcome.class);
+    private final Map<RejectionReason, Counter> rejectionCounters = new EnumMap<>(RejectionReason.class);
+
+    public MicrometerAuthMetrics(MeterRegistry registry) {
+        for (var outcome : CallOutcome.values()) {
+            callTimers.put(outcome, Timer.builder("auth.permission-service.requests")
+                    .description("Permission service user lookups")
+                    .tag("outcome", outcome.getTagValue())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        this.openUrlBypassCounter = Counter.builder("auth.open-url.bypass")
+                .description("Requests to open URLs that skipped authorization")
+                .register(registry);
+        for (var outcome : RefreshOutcome.values()) {
+            refreshCounters.put(outcome, Counter.builder("auth.cache.refresh")
+                    .description("Background refreshes of cached principals")
+                    .tag("outcome", outcome.getTagValue())
+                    .register(registry));
+        }
+        for (var reason : RejectionReason.values()) {
+            rejectionCounters.put(reason, Counter.builder("auth.rejections")
+                    .description("Requests rejected as unauthorised")
+                    .tag("reason", reason.getTagValue())
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public void recordPermissionServiceCall(long durationNanos, CallOutcome outcome) {
+        callTimers.get(outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordOpenUrlBypass() {
+        openUrlBypassCounter.increment();
+    }
+
+    @Override
+    public void recordCacheRefresh(RefreshOutcome outcome) {
+        refreshCounters.get(outcome).increment();
+    }
+
+    @Override
+    public void recordRejection(RejectionReason reason) {
+        rejectionCounters.get(reason).increment();
+    }
+}
@@ -0,0 +1,14 @@
+package com.poc.authlib.autoconfiguration.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public enum RefreshOutcome {
+    SUCCESS("success"),
+    EVICTED("evicted"),
+    FAILURE("failure");
+
+    @Getter
+    private final String tagValue;
+}
@@ -0,0 +1,11 @@
+package com.poc.authlib.autoconfiguration.resilience;
+
+/**
+ * Rejection of a permission service call over the concurrency limit, without stack trace.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.poc.authlib.autoconfiguration.resilience;
+
+/**
+ * Fail-fast rejection of a permission service call, without stack trace.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,134 @@
+package com.poc.authlib.autoconfiguration.resilience;
+
+import com.poc.authlib.properties.AuthServiceProperties;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-based circuit breaker. Opens when the failure rate over the last calls crosses the threshold,
+ * fails fast while open and lets a few trial calls through once the open duration has passed.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean enabled;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final int halfOpenCalls;
+    private final long openDurationNanos;
+    private final boolean[] window;
+    private final LongAdder notPermittedCount = new LongAdder();
+
+    private volatile State state = State.CLOSED;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(AuthServiceProperties.CircuitBreaker properties) {
+        this.enabled = properties.isEnabled();
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.minimumCalls = properties.getMinimumCalls();
+        this.halfOpenCalls = properties.getHalfOpenCalls();
+        this.openDurationNanos = properties.getOpenDuration().toNanos();
+        this.window = new boolean[properties.getSlidingWindowSize()];
+    }
+
+    public boolean tryAcquirePermission() {
+        if (!enabled || state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+                state = State.HALF_OPEN;
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+                halfOpenPermits--;
+                return true;
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+        }
+        notPermittedCount.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                if (++halfOpenSuccesses >= halfOpenCalls) {
+                    close();
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        }
+    }
+
+    public void onFailure() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                open();
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+                    open();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the permission of a call that ended without an outcome, e.g. when it was cancelled.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+            halfOpenPermits++;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getNotPermittedCount() {
+        return notPermittedCount.sum();
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == window.length) {
+            failedCalls -= window[windowIndex] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failed;
+        failedCalls += failed ? 1 : 0;
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+}
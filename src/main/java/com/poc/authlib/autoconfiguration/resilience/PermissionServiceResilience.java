@@ -0,0 +1,90 @@
+package com.poc.authlib.autoconfiguration.resilience;
+
+import com.poc.authlib.properties.AuthServiceProperties;
+import io.netty.handler.timeout.TimeoutException;
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker, bulkhead and bounded jittered retries around a single permission service call.
+ * Only transport errors are retried; 4xx responses do not count as failures.
+ */
+public class PermissionServiceResilience {
+
+    @Getter
+    private final CircuitBreaker circuitBreaker;
+    @Getter
+    private final Bulkhead bulkhead;
+    private final RetryBackoffSpec retry;
+    private final int maxRetries;
+
+    public PermissionServiceResilience(AuthServiceProperties.Resilience properties) {
+        this.circuitBreaker = new CircuitBreaker(properties.getCircuitBreaker());
+        this.bulkhead = new Bulkhead(properties.getMaxConcurrentCalls());
+        this.maxRetries = properties.getMaxRetries();
+        this.retry = Retry.backoff(maxRetries, properties.getRetryBackoff())
+                .jitter(properties.getRetryJitter())
+                .filter(PermissionServiceResilience::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public <T> Mono<T> protect(Supplier<Mono<T>> call) {
+        var attempt = Mono.defer(() -> attempt(call));
+        return maxRetries > 0 ? attempt.retryWhen(retry) : attempt;
+    }
+
+    /**
+     * Like {@link #protect(Supplier)}, but without retries, for calls that are not safe to repeat.
+     */
+    public <T> Mono<T> protectOnce(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> attempt(call));
+    }
+
+    private <T> Mono<T> attempt(Supplier<Mono<T>> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return Mono.error(new CallNotPermittedException("Permission service circuit breaker is open"));
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.onIgnored();
+            return Mono.error(new BulkheadFullException("Permission service concurrency limit reached"));
+        }
+        var completed = new AtomicBoolean();
+        return call.get()
+                .doOnSuccess(result -> {
+                    completed.set(true);
+                    circuitBreaker.onSuccess();
+                })
+                .doOnError(e -> {
+                    completed.set(true);
+                    if (isFailure(e)) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                })
+                .doFinally(signal -> {
+                    bulkhead.release();
+                    if (!completed.get()) {
+                        circuitBreaker.onIgnored();
+                    }
+                });
+    }
+
+    private static boolean isFailure(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getRawStatusCode() >= 500;
+        }
+        return true;
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        return e instanceof WebClientRequestException && !(e.getCause() instanceof TimeoutException);
+    }
+}
@@ -0,0 +1,21 @@
+package com.poc.authlib.autoconfiguration.validation;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public enum RejectionReason {
+    MISSING("missing", "No security token is present in request"),
+    TOO_LONG("too_long", "Security token is too long"),
+    INVALID_CHARACTERS("invalid_characters", "Security token contains invalid characters"),
+    INVALID_SCHEME("invalid_scheme", "Security token has an unsupported authorization scheme"),
+    MALFORMED_JWT("malformed_jwt", "Security token is not a well-formed JWT"),
+    EXPIRED_JWT("expired_jwt", "Security token has expired"),
+    PERMISSION_SERVICE("permission_service", "Security token was rejected by permission service"),
+    NEGATIVE_CACHE("negative_cache", "Security token was recently rejected by permission service");
+
+    @Getter
+    private final String tagValue;
+    @Getter
+    private final String message;
+}
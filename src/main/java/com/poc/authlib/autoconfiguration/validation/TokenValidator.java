@@ -0,0 +1,106 @@
+package com.poc.authlib.autoconfiguration.validation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jwt.SignedJWT;
+import com.poc.authlib.properties.AuthServiceProperties;
+
+import java.text.ParseException;
+import java.util.Optional;
+
+/**
+ * Rejects tokens locally before any upstream call: a header shape check (length, characters, scheme),
+ * a JWT structure and expiry check when the token looks like a JWT and a short-lived negative cache of
+ * token hashes the permission service rejected. The shape check is cheap enough for every request, the
+ * other two are meant for cache misses.
+ */
+public class TokenValidator {
+
+    private static final String JWT_HEADER_PREFIX = "eyJ";
+
+    private final AuthServiceProperties.TokenValidation properties;
+    private final Cache<String, Boolean> rejectedTokens;
+
+    public TokenValidator(AuthServiceProperties.TokenValidation properties) {
+        this.properties = properties;
+        this.rejectedTokens = properties.getNegativeCacheTtl().isZero()
+                ? null
+                : Caffeine.newBuilder()
+                .maximumSize(properties.getNegativeCacheMaxEntries())
+                .expireAfterWrite(properties.getNegativeCacheTtl())
+                .build();
+    }
+
+    public Optional<RejectionReason> checkShape(String authToken) {
+        if (authToken == null || authToken.isBlank()) {
+            return Optional.of(RejectionReason.MISSING);
+        }
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        if (authToken.length() > properties.getMaxLength()) {
+            return Optional.of(RejectionReason.TOO_LONG);
+        }
+        var separator = -1;
+        for (var i = 0; i < authToken.length(); i++) {
+            var c = authToken.charAt(i);
+            if (c == ' ' && separator < 0 && i > 0) {
+                separator = i;
+            } else if (c <= ' ' || c > '~') {
+                return Optional.of(RejectionReason.INVALID_CHARACTERS);
+            }
+        }
+        var scheme = properties.getScheme();
+        if (scheme != null && (separator != scheme.length()
+                || !authToken.regionMatches(true, 0, scheme, 0, scheme.length()))) {
+            return Optional.of(RejectionReason.INVALID_SCHEME);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Parses the token when it looks like a JWT, so only call it for tokens that passed {@link #checkShape}.
+     */
+    public Optional<RejectionReason> checkExpiry(String authToken) {
+        return properties.isEnabled() && properties.isCheckJwt()
+                ? checkJwt(authToken.substring(authToken.indexOf(' ') + 1))
+                : Optional.empty();
+    }
+
+    public Optional<RejectionReason> checkRejected(String tokenHash) {
+        return rejectedTokens != null && rejectedTokens.getIfPresent(tokenHash) != null
+                ? Optional.of(RejectionReason.NEGATIVE_CACHE)
+                : Optional.empty();
+    }
+
+    public void rejected(String tokenHash) {
+        if (rejectedTokens != null) {
+            rejectedTokens.put(tokenHash, Boolean.TRUE);
+        }
+    }
+
+    private Optional<RejectionReason> checkJwt(String credentials) {
+        if (!credentials.startsWith(JWT_HEADER_PREFIX) || dots(credentials) != 2) {
+            return Optional.empty();
+        }
+        try {
+            var expiration = SignedJWT.parse(credentials).getJWTClaimsSet().getExpirationTime();
+            var now = System.currentTimeMillis();
+            return expiration != null && expiration.getTime() + properties.getClockSkew().toMillis() < now
+                    ? Optional.of(RejectionReason.EXPIRED_JWT)
+                    : Optional.empty();
+        } catch (ParseException e) {
+            return Optional.of(RejectionReason.MALFORMED_JWT);
+        }
+    }
+
+    private static int dots(String credentials) {
+        var dots = 0;
+        for (var i = 0; i < credentials.length(); i++) {
+            if (credentials.charAt(i) == '.') {
+                dots++;
+            }
+        }
+        return dots;
+    }
+}
@@ -14,4 +14,14 @@ import java.util.List;
 public final class AuthSystemUserDTO {
     private String userId;
     private List<RoleDTO> roles;
+
+    /**
+     * Copy with unmodifiable role and permission lists, for users that are cached and shared between requests.
+     */
+    public AuthSystemUserDTO frozen() {
+        return new AuthSystemUserDTO(userId, roles == null ? null : roles.stream()
+                .map(role -> role == null ? null : new RoleDTO(role.getName(),
+                        role.getPermissions() == null ? null : role.getPermissions().stream().toList()))
+                .toList());
+    }
 }
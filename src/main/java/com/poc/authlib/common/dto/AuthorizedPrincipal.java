@@ -0,0 +1,30 @@
+package com.poc.authlib.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Resolved user together with the authority set built for it, so that cached lookups
+ * do not rebuild authorities on every request. {@code resolvedAt} is the epoch millis of the lookup;
+ * {@code tokenExpiresAt} is the expiry of a locally verified token, null when the permission service resolved it.
+ */
+@Value
+@AllArgsConstructor
+public class AuthorizedPrincipal {
+    AuthSystemUserDTO user;
+    Set<GrantedAuthority> authorities;
+    long resolvedAt;
+    Instant tokenExpiresAt;
+
+    public AuthorizedPrincipal(AuthSystemUserDTO user, Set<GrantedAuthority> authorities, long resolvedAt) {
+        this(user, authorities, resolvedAt, null);
+    }
+
+    public boolean isLocallyVerified() {
+        return tokenExpiresAt != null;
+    }
+}
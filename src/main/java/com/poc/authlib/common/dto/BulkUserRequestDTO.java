@@ -0,0 +1,19 @@
+package com.poc.authlib.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of the bulk user lookup; the response lists users in the same order, null for rejected tokens.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkUserRequestDTO {
+    private List<String> tokens;
+}
@@ -10,4 +10,9 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class ForbiddenException extends RuntimeException {
     @Getter
     private final String message;
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
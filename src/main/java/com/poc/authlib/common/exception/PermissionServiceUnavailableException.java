@@ -0,0 +1,12 @@
+package com.poc.authlib.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PermissionServiceUnavailableException extends AuthSystemException {
+
+    public PermissionServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -11,4 +11,11 @@ public class UnauthorisedAccessException extends AuthenticationException {
         super(message);
     }
 
+    /**
+     * Rejections are expected outcomes, capturing a stack trace for each one is pure overhead.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
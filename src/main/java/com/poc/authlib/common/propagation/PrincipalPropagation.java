@@ -0,0 +1,86 @@
+package com.poc.authlib.common.propagation;
+
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import reactor.util.context.Context;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * Carries the already resolved principal of the calling thread to other threads and Reactor pipelines.
+ * The security context is passed by reference, nothing is copied and nothing is authorized again.
+ */
+public final class PrincipalPropagation {
+
+    private PrincipalPropagation() {
+    }
+
+    public static Runnable wrap(Runnable task) {
+        var context = SecurityContextHolder.getContext();
+        if (context.getAuthentication() == null) {
+            return task;
+        }
+        return () -> {
+            var previous = SecurityContextHolder.getContext();
+            if (previous == context) {
+                task.run();
+                return;
+            }
+            SecurityContextHolder.setContext(context);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        var context = SecurityContextHolder.getContext();
+        if (context.getAuthentication() == null) {
+            return task;
+        }
+        return () -> {
+            var previous = SecurityContextHolder.getContext();
+            if (previous == context) {
+                return task.call();
+            }
+            SecurityContextHolder.setContext(context);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Executor running every task with the principal of the thread that submitted it,
+     * e.g. for {@code CompletableFuture.supplyAsync(supplier, PrincipalPropagation.wrap(executor))}.
+     */
+    public static Executor wrap(Executor executor) {
+        return command -> executor.execute(wrap(command));
+    }
+
+    /**
+     * Reactor context with the principal of the calling thread, for pipelines started from servlet code:
+     * {@code mono.contextWrite(PrincipalPropagation.reactorContext())} makes it visible to
+     * {@link com.poc.authlib.common.supply.ReactiveAuthorizedUserSupplier} on any scheduler.
+     */
+    public static Context reactorContext() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null
+                ? Context.empty()
+                : ReactiveSecurityContextHolder.withAuthentication(authentication);
+    }
+
+    private static void restore(SecurityContext previous) {
+        if (previous.getAuthentication() == null) {
+            SecurityContextHolder.clearContext();
+        } else {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.poc.authlib.common.propagation;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Propagates the submitting thread's principal to Spring task executors, including the one behind {@code @Async}.
+ */
+public final class PrincipalTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return PrincipalPropagation.wrap(runnable);
+    }
+}
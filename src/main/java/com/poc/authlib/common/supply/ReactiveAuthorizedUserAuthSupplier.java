@@ -0,0 +1,20 @@
+package com.poc.authlib.common.supply;
+
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import com.poc.authlib.common.exception.AuthSystemException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import reactor.core.publisher.Mono;
+
+public final class ReactiveAuthorizedUserAuthSupplier implements ReactiveAuthorizedUserSupplier {
+
+    @Override
+    public Mono<AuthSystemUserDTO> get() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Authentication::getPrincipal)
+                .map(AuthSystemUserDTO.class::cast)
+                .switchIfEmpty(Mono.error(() -> new AuthSystemException("Unexpected authority in security context")));
+    }
+}
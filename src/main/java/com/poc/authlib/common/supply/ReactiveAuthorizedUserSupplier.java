@@ -0,0 +1,9 @@
+package com.poc.authlib.common.supply;
+
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+public interface ReactiveAuthorizedUserSupplier extends Supplier<Mono<AuthSystemUserDTO>> {
+}
@@ -0,0 +1,34 @@
+package com.poc.authlib.common.supply;
+
+import com.poc.authlib.common.dto.AuthSystemUserDTO;
+import com.poc.authlib.common.dto.RoleDTO;
+import com.poc.authlib.properties.MockUserProperties;
+
+import java.util.List;
+
+/**
+ * Supplies one user built at startup when security is turned off. Its role and permission lists are
+ * unmodifiable, so every call returns the same instance.
+ */
+public final class StaticAuthorizedUserSupplier implements AuthorizedUserSupplier {
+
+    private final AuthSystemUserDTO user;
+
+    public StaticAuthorizedUserSupplier(MockUserProperties properties) {
+        this.user = AuthSystemUserDTO.builder()
+                .userId(properties.getUserId())
+                .roles(properties.getRoles().stream()
+                        .map(role -> new RoleDTO(role.getName(), permissionsOf(role.getPermissions())))
+                        .toList())
+                .build();
+    }
+
+    @Override
+    public AuthSystemUserDTO get() {
+        return user;
+    }
+
+    private static List<String> permissionsOf(List<String> permissions) {
+        return permissions != null ? List.copyOf(permissions) : List.of();
+    }
+}
@@ -4,6 +4,14 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -14,11 +22,336 @@ import javax.validation.constraints.NotNull;
 public class AuthServiceProperties {
     @NotBlank
     private String endpoint;
+    /**
+     * Permission service replicas balanced client-side for user lookups, only endpoint is used when empty.
+     * JWKS and the invalidation stream are always read from endpoint.
+     */
+    @NotNull
+    private List<@NotBlank String> endpoints = new ArrayList<>();
     @NotBlank
     private String getUserPath;
-    @Min(5000)
+    /**
+     * Permission service response timeout in milliseconds.
+     */
+    @Min(1)
     @NotNull
     private Integer timeout;
     @NotBlank
     private String errorMessage;
+    private boolean coalesceRequests = true;
+    /**
+     * Run servlet requests, and so the blocking permission lookup, on virtual threads (Java 21+).
+     */
+    private boolean virtualThreads = false;
+    /**
+     * Decorate the application task executor (@Async) so tasks run with the submitting request's principal.
+     */
+    private boolean propagatePrincipal = true;
+    @Valid
+    @NotNull
+    private Http http = new Http();
+    @Valid
+    @NotNull
+    private Cache cache = new Cache();
+    @Valid
+    @NotNull
+    private Resilience resilience = new Resilience();
+    @Valid
+    @NotNull
+    private Jwt jwt = new Jwt();
+    @Valid
+    @NotNull
+    private Batch batch = new Batch();
+    @Valid
+    @NotNull
+    private Invalidation invalidation = new Invalidation();
+    @Valid
+    @NotNull
+    private SharedCache sharedCache = new SharedCache();
+    @Valid
+    @NotNull
+    private Startup startup = new Startup();
+    @Valid
+    @NotNull
+    private LoadBalancing loadBalancing = new LoadBalancing();
+    @Valid
+    @NotNull
+    private TokenValidation tokenValidation = new TokenValidation();
+
+    /**
+     * Stale principals are the ones the principal cache no longer holds, so a grace window not longer than the
+     * cache TTL would never serve one.
+     */
+    @AssertTrue(message = "auth.service.resilience.stale-principals.ttl must be longer than auth.service.cache.ttl")
+    public boolean isStaleGraceLongerThanCacheTtl() {
+        var stale = resilience.getStalePrincipals();
+        return !stale.isEnabled() || !cache.isEnabled() || stale.getTtl().compareTo(cache.getTtl()) > 0;
+    }
+
+    @Data
+    public static class Http {
+        @NotNull
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        /**
+         * Prefer HTTP/2 (h2c for plain http endpoints) with HTTP/1.1 fallback.
+         */
+        private boolean http2 = false;
+        private boolean compression = false;
+        /**
+         * Ask for the compact binary principal format, the permission service may still answer with JSON.
+         */
+        private boolean binaryFormat = true;
+        @Valid
+        @NotNull
+        private Pool pool = new Pool();
+    }
+
+    @Data
+    public static class Pool {
+        @Min(1)
+        private int maxConnections = 500;
+        /**
+         * Requests allowed to wait for a connection, -1 for no limit.
+         */
+        private int pendingAcquireMaxCount = 1000;
+        @NotNull
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        @NotNull
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        @NotNull
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        @NotNull
+        private Duration evictInBackground = Duration.ofSeconds(30);
+        private boolean metrics = true;
+
+        /**
+         * 0 would fail every request that has to wait for a connection.
+         */
+        @AssertTrue(message = "auth.service.http.pool.pending-acquire-max-count must be -1 or at least 1")
+        public boolean isPendingAcquireMaxCountValid() {
+            return pendingAcquireMaxCount == -1 || pendingAcquireMaxCount >= 1;
+        }
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = false;
+        @NotNull
+        private Duration ttl;
+        @Min(1)
+        private long maxEntries = 10_000;
+        /**
+         * Window before expiry in which a read triggers a background refresh, 0 to disable.
+         * Applies to the principal cache only.
+         */
+        @NotNull
+        private Duration refreshAhead = Duration.ZERO;
+        @Min(1)
+        private int maxConcurrentRefreshes = 16;
+
+        public Cache() {
+            this(Duration.ofSeconds(60));
+        }
+
+        public Cache(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    @Data
+    public static class Resilience {
+        @Valid
+        @NotNull
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+        /**
+         * Limit of outstanding permission service calls, 0 for no limit.
+         */
+        @Min(0)
+        private int maxConcurrentCalls = 0;
+        /**
+         * Retries of transport errors (connection refused/reset), never of responses or timeouts.
+         */
+        @Min(0)
+        private int maxRetries = 1;
+        @NotNull
+        private Duration retryBackoff = Duration.ofMillis(50);
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double retryJitter = 0.5;
+        /**
+         * Last known-good principals served while the circuit breaker is open; ttl is the grace window
+         * and has to be longer than the principal cache ttl.
+         */
+        @Valid
+        @NotNull
+        private Cache stalePrincipals = new Cache(Duration.ofMinutes(10));
+    }
+
+    @Data
+    public static class Batch {
+        /**
+         * Tokens resolved in parallel by resolveAll when no bulk path is configured.
+         */
+        @Min(1)
+        private int concurrency = 32;
+        /**
+         * Optional permission service path accepting many tokens in one POST.
+         */
+        private String bulkPath;
+        @Min(1)
+        private int bulkSize = 100;
+        @Min(1)
+        private int bulkConcurrency = 4;
+    }
+
+    @Data
+    public static class SharedCache {
+        public enum Type {
+            NONE, OFF_HEAP, KEY_VALUE
+        }
+
+        /**
+         * Second level behind the principal cache: off-heap memory of this node, or a remote
+         * key-value store shared by all nodes (a KeyValueStore bean, in-memory stand-in otherwise).
+         */
+        @NotNull
+        private Type type = Type.NONE;
+        @NotNull
+        private Duration ttl = Duration.ofMinutes(10);
+        @Min(1)
+        private long maxEntries = 1_000_000;
+        /**
+         * Bytes reserved per off-heap entry; larger principals are not stored.
+         */
+        @Min(64)
+        private int slotSize = 512;
+        /**
+         * Memory-mapped file backing the off-heap entries, direct memory when unset. Emptied on startup.
+         */
+        private String file;
+    }
+
+    @Data
+    public static class LoadBalancing {
+        public enum Strategy {
+            LEAST_OUTSTANDING, LATENCY_WEIGHTED
+        }
+
+        @NotNull
+        private Strategy strategy = Strategy.LEAST_OUTSTANDING;
+        /**
+         * Consecutive failures (transport errors, 5xx) that take a replica out of rotation for eject-duration.
+         */
+        @Min(1)
+        private int failureThreshold = 3;
+        @NotNull
+        private Duration ejectDuration = Duration.ofSeconds(10);
+        @Valid
+        @NotNull
+        private Hedging hedging = new Hedging();
+    }
+
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        /**
+         * Latency percentile after which a user lookup is also sent to another replica.
+         */
+        @DecimalMin("0.5")
+        @DecimalMax("1.0")
+        private double percentile = 0.95;
+        @NotNull
+        private Duration minDelay = Duration.ofMillis(5);
+        /**
+         * Upper bound of the hedge delay, also used until enough latencies were observed.
+         */
+        @NotNull
+        private Duration maxDelay = Duration.ofMillis(200);
+    }
+
+    @Data
+    public static class Startup {
+        /**
+         * Create the permission service http resources and load JWKS in the background once the
+         * application is ready, instead of on the first protected request.
+         */
+        private boolean warmUp = false;
+        /**
+         * Also open one pooled connection to the permission service during warm-up.
+         */
+        private boolean prewarmConnection = false;
+    }
+
+    @Data
+    public static class TokenValidation {
+        /**
+         * Reject malformed Authorization headers locally instead of forwarding them to the permission service.
+         */
+        private boolean enabled = true;
+        @Min(1)
+        private int maxLength = 8192;
+        /**
+         * Required authorization scheme, e.g. Bearer; any scheme (or none) is accepted when unset.
+         */
+        private String scheme;
+        /**
+         * Check structure and expiry of JWT-shaped tokens, without verifying the signature.
+         */
+        private boolean checkJwt = true;
+        @NotNull
+        private Duration clockSkew = Duration.ofSeconds(30);
+        /**
+         * How long tokens rejected by the permission service are rejected locally, 0 to disable.
+         */
+        @NotNull
+        private Duration negativeCacheTtl = Duration.ofSeconds(10);
+        @Min(1)
+        private long negativeCacheMaxEntries = 10_000;
+    }
+
+    @Data
+    public static class Invalidation {
+        /**
+         * Permission service server-sent events path publishing revocations, unset to disable.
+         */
+        private String path;
+        @NotNull
+        private Duration reconnectDelay = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        @Min(1)
+        @Max(100)
+        private int failureRateThreshold = 50;
+        @Min(1)
+        private int slidingWindowSize = 100;
+        @Min(1)
+        private int minimumCalls = 20;
+        @NotNull
+        private Duration openDuration = Duration.ofSeconds(10);
+        @Min(1)
+        private int halfOpenCalls = 5;
+    }
+
+    @Data
+    public static class Jwt {
+        private boolean enabled = false;
+        /**
+         * JWKS location: absolute http(s) URL, path relative to the endpoint, or file:/classpath: resource.
+         */
+        private String jwksUri;
+        @NotNull
+        private Duration refreshInterval = Duration.ofMinutes(5);
+        @NotNull
+        private Duration minRefreshInterval = Duration.ofSeconds(30);
+        @NotNull
+        private Duration clockSkew = Duration.ofSeconds(30);
+        private String issuer;
+        @NotBlank
+        private String userIdClaim = "sub";
+        @NotBlank
+        private String rolesClaim = "roles";
+    }
 }
@@ -0,0 +1,25 @@
+package com.poc.authlib.properties;
+
+import com.poc.authlib.common.dto.RoleDTO;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+/**
+ * User returned by the authorized user suppliers when security is turned off.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "auth.mock-user")
+public class MockUserProperties {
+    @NotBlank
+    private String userId = "user012";
+    @Valid
+    @NotNull
+    private List<RoleDTO> roles = List.of(new RoleDTO("USER_ROLE", List.of("Request.READ")));
+}
@@ -2,13 +2,50 @@ package com.poc.authlib.properties;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.ArrayList;
 import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
 
 @Validated
 @Data
 @ConfigurationProperties(prefix = "security.urls")
 public class OpenUrlProperties {
     private List<String> openUrls;
+    @Min(0)
+    private int matchCacheSize = 1024;
+    /**
+     * Route rules enforced by the security filter right after authorization; the first matching rule applies.
+     */
+    @Valid
+    @NotNull
+    private List<RoutePolicy> policies = new ArrayList<>();
+
+    @Data
+    public static class RoutePolicy {
+        /**
+         * Any method when unset.
+         */
+        private HttpMethod method;
+        /**
+         * Ant-style path pattern, matched case-insensitively.
+         */
+        @NotBlank
+        private String path;
+        /**
+         * Permissions all required.
+         */
+        @NotNull
+        private List<String> permissions = new ArrayList<>();
+        /**
+         * Roles of which at least one is required, when set.
+         */
+        @NotNull
+        private List<String> roles = new ArrayList<>();
+    }
 }
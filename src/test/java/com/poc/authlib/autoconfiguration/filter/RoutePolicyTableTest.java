@@ -0,0 +1,119 @@
+package com.poc.authlib.autoconfiguration.filter;
+
+import com.poc.authlib.autoconfiguration.authority.AuthorityRegistry;
+import com.poc.authlib.properties.OpenUrlProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutePolicyTableTest {
+
+    private static final List<String> PATTERNS = List.of(
+            "/api/items/{id:\\d+}",
+            "/api/items/{id}",
+            "/api/items/**",
+            "/api/items",
+            "/api/items/",
+            "/api/*",
+            "/api/*/details",
+            "/api/{a}{b}",
+            "/public/**",
+            "/a/**/b",
+            "/files/*.txt",
+            "/users/{id}/orders/{orderId}",
+            "/api/items/export",
+            "/*",
+            "api/relative",
+            "/**");
+
+    private static final List<String> PATHS = List.of(
+            "/",
+            "/api",
+            "/api/",
+            "/api//",
+            "/api/items",
+            "/api/items/",
+            "/api/items/42",
+            "/api/items/42/",
+            "/api/items/export",
+            "/API/Items/7",
+            "/api/items/42/details",
+            "/api/x/details",
+            "//api//items",
+            "/public",
+            "/public/a/b",
+            "/a/b",
+            "/a/x/y/b",
+            "/files/x.txt",
+            "/files/x.pdf",
+            "/users/1/orders/2",
+            "/users/1/orders",
+            "/api/relative",
+            "/other");
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    RoutePolicyTableTest() {
+        antPathMatcher.setCaseSensitive(false);
+    }
+
+    @Test
+    void regexConstrainedVariableDoesNotShadowLaterRule() {
+        var table = table(List.of(policy(null, "/api/items/{id:\\d+}"), policy(null, "/api/items/**")));
+
+        assertThat(table.find("GET", "/api/items/export").getOrder()).isEqualTo(1);
+        assertThat(table.find("GET", "/api/items/42").getOrder()).isZero();
+    }
+
+    @Test
+    void matchesLikeLinearAntPathMatcherScan() {
+        var random = new Random(42);
+        for (var round = 0; round < 500; round++) {
+            var patterns = new ArrayList<>(PATTERNS);
+            Collections.shuffle(patterns, random);
+            var policies = new ArrayList<OpenUrlProperties.RoutePolicy>();
+            for (var pattern : patterns.subList(0, 1 + random.nextInt(patterns.size()))) {
+                policies.add(policy(random.nextInt(4) == 0 ? HttpMethod.POST : null, pattern));
+            }
+            var table = table(policies);
+            for (var path : PATHS) {
+                for (var method : List.of("GET", "POST")) {
+                    var policy = table.find(method, path);
+                    assertThat(policy == null ? -1 : policy.getOrder())
+                            .as("%s %s with %s", method, path, patterns)
+                            .isEqualTo(linearScan(policies, method, path));
+                }
+            }
+        }
+    }
+
+    private int linearScan(List<OpenUrlProperties.RoutePolicy> policies, String method, String path) {
+        for (var order = 0; order < policies.size(); order++) {
+            var policy = policies.get(order);
+            if ((policy.getMethod() == null || policy.getMethod().name().equals(method))
+                    && antPathMatcher.match(policy.getPath().toLowerCase(Locale.ROOT), path.toLowerCase(Locale.ROOT))) {
+                return order;
+            }
+        }
+        return -1;
+    }
+
+    private static RoutePolicyTable table(List<OpenUrlProperties.RoutePolicy> policies) {
+        return new RoutePolicyTable(policies, new AuthorityRegistry());
+    }
+
+    private static OpenUrlProperties.RoutePolicy policy(HttpMethod method, String path) {
+        var policy = new OpenUrlProperties.RoutePolicy();
+        policy.setMethod(method);
+        policy.setPath(path);
+        return policy;
+    }
+}
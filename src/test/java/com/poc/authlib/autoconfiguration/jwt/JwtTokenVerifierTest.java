@@ -0,0 +1,182 @@
+package com.poc.authlib.autoconfiguration.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.poc.authlib.common.exception.UnauthorisedAccessException;
+import com.poc.authlib.properties.AuthServiceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenVerifierTest {
+
+    private static final String ISSUER = "https://issuer.example";
+
+    @TempDir
+    Path tempDir;
+
+    private RSAKey signingKey;
+    private RSAKey rs512Key;
+    private OctetSequenceKey secretKey;
+    private JwksKeySource keySource;
+    private JwtTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("rsa").keyUse(KeyUse.SIGNATURE).generate();
+        rs512Key = new RSAKeyGenerator(2048).keyID("rs512").algorithm(JWSAlgorithm.RS512).generate();
+        secretKey = new OctetSequenceKeyGenerator(256).keyID("oct").generate();
+        var encryptionKey = new RSAKeyGenerator(2048).keyID("enc").keyUse(KeyUse.ENCRYPTION).generate();
+        var jwks = new JWKSet(List.<JWK>of(signingKey, rs512Key, secretKey, encryptionKey));
+        var jwksFile = Files.writeString(tempDir.resolve("jwks.json"), jwks.toString(false));
+
+        var jwtProperties = new AuthServiceProperties.Jwt();
+        jwtProperties.setEnabled(true);
+        jwtProperties.setJwksUri(jwksFile.toUri().toString());
+        jwtProperties.setIssuer(ISSUER);
+        jwtProperties.setClockSkew(Duration.ZERO);
+        keySource = new JwksKeySource(jwtProperties, null);
+        keySource.refresh().block();
+        verifier = new JwtTokenVerifier(jwtProperties, keySource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        keySource.close();
+    }
+
+    @Test
+    void verifiesSignedToken() throws JOSEException {
+        var expiresAt = Instant.now().plusSeconds(300);
+        var token = sign(new RSASSASigner(signingKey), JWSAlgorithm.RS256, "rsa", claims(expiresAt));
+
+        var verified = verifier.verify("Bearer " + token).orElseThrow();
+
+        assertThat(verified.getUser().getUserId()).isEqualTo("user-1");
+        assertThat(verified.getUser().getRoles()).singleElement()
+                .satisfies(role -> {
+                    assertThat(role.getName()).isEqualTo("admin");
+                    assertThat(role.getPermissions()).containsExactly("read", "write");
+                });
+        assertThat(verified.getExpiresAt()).isEqualTo(Instant.ofEpochSecond(expiresAt.getEpochSecond()));
+        assertThatThrownBy(() -> verified.getUser().getRoles().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void rejectsInvalidSignature() throws JOSEException {
+        var otherKey = new RSAKeyGenerator(2048).keyID("rsa").generate();
+        var token = sign(new RSASSASigner(otherKey), JWSAlgorithm.RS256, "rsa", claims(Instant.now().plusSeconds(300)));
+
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(UnauthorisedAccessException.class)
+                .hasMessage("Invalid token signature");
+    }
+
+    @Test
+    void rejectsExpiredToken() throws JOSEException {
+        var token = sign(new RSASSASigner(signingKey), JWSAlgorithm.RS256, "rsa", claims(Instant.now().minusSeconds(60)));
+
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(UnauthorisedAccessException.class)
+                .hasMessage("Token is expired");
+    }
+
+    @Test
+    void rejectsUnexpectedIssuer() throws JOSEException {
+        var claims = new JWTClaimsSet.Builder(claims(Instant.now().plusSeconds(300)))
+                .issuer("https://other.example")
+                .build();
+        var token = sign(new RSASSASigner(signingKey), JWSAlgorithm.RS256, "rsa", claims);
+
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(UnauthorisedAccessException.class)
+                .hasMessage("Unexpected token issuer");
+    }
+
+    @Test
+    void leavesUnknownKeyIdToPermissionService() throws JOSEException {
+        var token = sign(new RSASSASigner(signingKey), JWSAlgorithm.RS256, "unknown", claims(Instant.now().plusSeconds(300)));
+
+        assertThat(verifier.verify(token)).isEmpty();
+    }
+
+    @Test
+    void leavesOpaqueTokenToPermissionService() {
+        assertThat(verifier.verify("Bearer opaque-token")).isEmpty();
+    }
+
+    @Test
+    void ignoresSymmetricKeys() throws JOSEException {
+        var token = sign(new MACSigner(secretKey), JWSAlgorithm.HS256, "oct", claims(Instant.now().plusSeconds(300)));
+
+        assertThat(verifier.verify(token)).isEmpty();
+    }
+
+    @Test
+    void ignoresEncryptionKeys() throws JOSEException {
+        var token = sign(new RSASSASigner(signingKey), JWSAlgorithm.RS256, "enc", claims(Instant.now().plusSeconds(300)));
+
+        assertThat(verifier.verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsAlgorithmOtherThanTheKeys() throws JOSEException {
+        var token = sign(new RSASSASigner(rs512Key), JWSAlgorithm.RS256, "rs512", claims(Instant.now().plusSeconds(300)));
+
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(UnauthorisedAccessException.class)
+                .hasMessage("Token algorithm does not match its signing key");
+    }
+
+    @Test
+    void rejectsAlgorithmOutsideTheKeyFamily() throws JOSEException {
+        var hmacKey = new OctetSequenceKeyGenerator(256).generate();
+        var token = sign(new MACSigner(hmacKey), JWSAlgorithm.HS256, "rsa", claims(Instant.now().plusSeconds(300)));
+
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(UnauthorisedAccessException.class)
+                .hasMessage("Token algorithm does not match its signing key");
+    }
+
+    private static JWTClaimsSet claims(Instant expiresAt) {
+        return new JWTClaimsSet.Builder()
+                .subject("user-1")
+                .issuer(ISSUER)
+                .expirationTime(Date.from(expiresAt))
+                .claim("roles", List.of(Map.of("name", "admin", "permissions", List.of("read", "write"))))
+                .build();
+    }
+
+    private static String sign(JWSSigner signer, JWSAlgorithm algorithm, String keyId, JWTClaimsSet claims)
+            throws JOSEException {
+        var jwt = new SignedJWT(new JWSHeader.Builder(algorithm).keyID(keyId).build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+}